@@ -0,0 +1,25 @@
+package command;
+
+import java.util.Map;
+
+/**
+ * Cooks every distinct item of a batch once, in as many portions as the batch needs.
+ *
+ * @author agent 2026-10-18 10:12
+ */
+public class BatchCookCommand implements Command {
+    private final Map<String, Integer> portions;
+    private final Chef chef;
+
+    public BatchCookCommand(Map<String, Integer> portions, Chef chef) {
+        this.portions = portions;
+        this.chef = chef;
+    }
+
+    @Override
+    public void execute() {
+        for (Map.Entry<String, Integer> entry : portions.entrySet()) {
+            chef.cooking(entry.getKey(), entry.getValue());
+        }
+    }
+}
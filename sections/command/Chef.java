@@ -7,4 +7,8 @@ public class Chef {
     public void cooking(String name) {
         System.out.println("Cooking: " + name);
     }
+
+    public void cooking(String name, int portions) {
+        System.out.println("Cooking: " + name + " x" + portions);
+    }
 }
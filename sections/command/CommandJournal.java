@@ -0,0 +1,262 @@
+package command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of orders on a memory-mapped file.
+ * A command is appended before it is executed, {@link #sync(long)} makes it durable.
+ * Concurrent syncs are grouped: one force() covers every record appended before it,
+ * threads whose records are already covered return at once. Grouping only pays off when many threads
+ * sync at the same time; a single thread pays one force() per sync.
+ * <p>
+ * Layout: a 16 byte header (magic, version, checkpoint position), then records of
+ * payload length, CRC32 of the payload and the payload (item count, then length and UTF-8 bytes of each item).
+ * Positions returned by {@link #append(Order)} are file offsets just after the record.
+ *
+ * @author agent 2026-10-18 10:12
+ */
+public class CommandJournal implements AutoCloseable {
+    private static final int MAGIC = 0x434d444a;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int CHECKPOINT_OFFSET = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final Condition forced = forceLock.newCondition();
+    private boolean forcing;
+    private volatile MappedByteBuffer buffer;
+    private long position;
+    private volatile long durable;
+
+    /**
+     * open or create a journal, an existing journal continues after its last intact record.
+     * Whatever follows that record is cleared first, so records behind a torn one never come back
+     * once new records have been appended over it.
+     */
+    public CommandJournal(Path path, int initialCapacity) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(Math.max(size, initialCapacity), HEADER_SIZE));
+        if (size == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(CHECKPOINT_OFFSET, HEADER_SIZE);
+            buffer.force();
+        } else if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("not a command journal: " + path);
+        }
+        position = scan(HEADER_SIZE, null);
+        clearTail();
+        durable = position;
+    }
+
+    /**
+     * @return the position to pass to {@link #sync(long)} and {@link #checkpoint(long)}.
+     */
+    public synchronized long append(Order order) {
+        byte[][] items = new byte[order.getOrder().size()][];
+        int payloadLength = 4;
+        for (int i = 0; i < items.length; i++) {
+            items[i] = order.getOrder().get(i).getBytes(StandardCharsets.UTF_8);
+            payloadLength += 4 + items[i].length;
+        }
+        ensureCapacity(RECORD_HEADER_SIZE + payloadLength);
+        MappedByteBuffer target = buffer;
+        int start = (int) position;
+        int payloadStart = start + RECORD_HEADER_SIZE;
+        target.position(payloadStart);
+        target.putInt(items.length);
+        for (byte[] item : items) {
+            target.putInt(item.length);
+            target.put(item);
+        }
+        crc.reset();
+        crc.update(target.slice(payloadStart, payloadLength));
+        target.putInt(start + 4, (int) crc.getValue());
+        // The length goes last, a record without it is never read back.
+        target.putInt(start, payloadLength);
+        position = payloadStart + payloadLength;
+        return position;
+    }
+
+    /**
+     * return once the journal is durable up to the given position.
+     * One caller forces at a time; the others wait and are all woken when it is done,
+     * so the records they appended meanwhile are covered by the next force() together.
+     */
+    public void sync(long position) {
+        if (durable >= position) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            while (durable < position) {
+                if (forcing) {
+                    forced.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                long from = durable;
+                long target;
+                forceLock.unlock();
+                try {
+                    synchronized (this) {
+                        target = this.position;
+                    }
+                    // Only the pages written since the last force need flushing, not the whole mapping.
+                    buffer.force((int) from, (int) (target - from));
+                } finally {
+                    forceLock.lock();
+                    forcing = false;
+                    forced.signalAll();
+                }
+                durable = target;
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * the commands up to the position have been executed, a replay starts after it.
+     */
+    public void checkpoint(long position) {
+        sync(position);
+        forceLock.lock();
+        try {
+            buffer.putLong(CHECKPOINT_OFFSET, position);
+            buffer.force(0, HEADER_SIZE);
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * replay the orders appended after the last checkpoint.
+     *
+     * @return the number of orders replayed.
+     */
+    public long replay(Consumer<Order> consumer) {
+        long[] count = new long[1];
+        scan(buffer.getLong(CHECKPOINT_OFFSET), order -> {
+            consumer.accept(order);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        long end;
+        synchronized (this) {
+            end = position;
+        }
+        sync(end);
+        channel.close();
+    }
+
+    /**
+     * walk the intact records from start on, a torn or corrupted record ends the journal.
+     *
+     * @return the position after the last intact record.
+     */
+    private synchronized long scan(long start, Consumer<Order> consumer) {
+        MappedByteBuffer source = buffer;
+        int current = (int) start;
+        while (current + RECORD_HEADER_SIZE <= source.capacity()) {
+            int payloadLength = source.getInt(current);
+            int payloadStart = current + RECORD_HEADER_SIZE;
+            if (payloadLength <= 0 || payloadStart + payloadLength > source.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(source.slice(payloadStart, payloadLength));
+            if ((int) crc.getValue() != source.getInt(current + 4)) {
+                break;
+            }
+            if (consumer != null) {
+                consumer.accept(decode(source, payloadStart));
+            }
+            current = payloadStart + payloadLength;
+        }
+        return current;
+    }
+
+    /**
+     * zero everything after the position, only pages that hold leftovers are written and forced.
+     */
+    private void clearTail() {
+        MappedByteBuffer target = buffer;
+        int end = target.capacity();
+        int firstDirty = end;
+        int lastDirty = end;
+        for (int offset = (int) position; offset < end; offset += Long.BYTES) {
+            if (offset + Long.BYTES > end) {
+                for (int i = offset; i < end; i++) {
+                    if (target.get(i) != 0) {
+                        target.put(i, (byte) 0);
+                        firstDirty = Math.min(firstDirty, i);
+                        lastDirty = i + 1;
+                    }
+                }
+                break;
+            }
+            if (target.getLong(offset) != 0) {
+                target.putLong(offset, 0);
+                firstDirty = Math.min(firstDirty, offset);
+                lastDirty = offset + Long.BYTES;
+            }
+        }
+        if (firstDirty < end) {
+            target.force(firstDirty, lastDirty - firstDirty);
+        }
+    }
+
+    private static Order decode(MappedByteBuffer source, int payloadStart) {
+        Order order = new Order();
+        int offset = payloadStart;
+        int itemCount = source.getInt(offset);
+        offset += 4;
+        for (int i = 0; i < itemCount; i++) {
+            int length = source.getInt(offset);
+            byte[] item = new byte[length];
+            source.get(offset + 4, item);
+            order.addItem(new String(item, StandardCharsets.UTF_8));
+            offset += 4 + length;
+        }
+        return order;
+    }
+
+    private void ensureCapacity(int recordLength) {
+        long required = position + recordLength;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("journal is full, checkpoint and start a new one");
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Journal throughput on two paths, each run on a fresh journal. Batched: one thread appends commands and forces
+ * once per group, the journal path itself without any hand-off. Durable per command: {@link JournaledCommand}s,
+ * each durable before it runs, submitted to a {@link Kitchen} of 1 to 256 chefs so that concurrent syncs can
+ * share a force(). Replay throughput is measured after reopening each batched journal.
+ *
+ * @author agent 2026-10-18 10:12
+ */
+public class CommandJournalBenchmark {
+    private static final int BATCHED_COMMANDS = 5_000_000;
+    private static final int[] GROUP_SIZES = {64, 1024, 16384};
+    private static final int COMMANDS = 200_000;
+    private static final int[] CHEFS = {1, 4, 16, 64, 256};
+
+    public static void main(String[] args) throws IOException {
+        Order order = new Order();
+        order.addItem("Steak").addItem("Fruit salad").addItem("Corn soup");
+        System.out.printf("%d cores, journal in %s%n",
+                Runtime.getRuntime().availableProcessors(), System.getProperty("java.io.tmpdir"));
+        for (int groupSize : GROUP_SIZES) {
+            Path path = Files.createTempFile("command-journal", ".bin");
+            try {
+                try (CommandJournal journal = new CommandJournal(path, 64 << 20)) {
+                    batched(journal, order, groupSize);
+                }
+                replay(path);
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+        for (int chefs : CHEFS) {
+            Path path = Files.createTempFile("command-journal", ".bin");
+            try (CommandJournal journal = new CommandJournal(path, 64 << 20)) {
+                durablePerCommand(journal, order, chefs);
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void batched(CommandJournal journal, Order order, int groupSize) {
+        long start = System.nanoTime();
+        long position = 0;
+        for (int i = 1; i <= BATCHED_COMMANDS; i++) {
+            position = journal.append(order);
+            if (i % groupSize == 0) {
+                journal.sync(position);
+            }
+        }
+        journal.sync(position);
+        System.out.printf("append+force, one force() per %5d commands: %,12.0f commands/s%n",
+                groupSize, BATCHED_COMMANDS * 1e9 / (System.nanoTime() - start));
+    }
+
+    private static void durablePerCommand(CommandJournal journal, Order order, int chefs) {
+        Command cook = () -> {
+        };
+        Kitchen kitchen = new Kitchen(chefs);
+        CompletableFuture<?>[] done = new CompletableFuture<?>[COMMANDS];
+        long start = System.nanoTime();
+        for (int i = 0; i < COMMANDS; i++) {
+            done[i] = kitchen.submit(new JournaledCommand(journal, order, cook));
+        }
+        CompletableFuture.allOf(done).join();
+        long elapsed = System.nanoTime() - start;
+        kitchen.close();
+        System.out.printf("durable per command, %3d chefs:            %,12.0f commands/s%n",
+                chefs, COMMANDS * 1e9 / elapsed);
+    }
+
+    private static void replay(Path path) throws IOException {
+        try (CommandJournal journal = new CommandJournal(path, 0)) {
+            long start = System.nanoTime();
+            long replayed = journal.replay(replayedOrder -> {
+            });
+            System.out.printf("replay: %,d commands, %,.0f commands/s%n",
+                    replayed, replayed * 1e9 / (System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package command;
+
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs commands by priority and earliest deadline instead of insertion order.
+ * Commands are ordered by deadline minus priority * agingStep, so one priority level is worth agingStep
+ * of deadline. The key of a waiting command never changes while newer commands get later deadlines,
+ * so a low priority command ages until it runs first and is never starved.
+ *
+ * @author agent 2026-10-18 10:13
+ */
+public class CommandScheduler implements AutoCloseable {
+    private final long agingStepNanos;
+    private final long defaultBudgetNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final PriorityBlockingQueue<ScheduledCommand> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparingLong(ScheduledCommand::getUrgency).thenComparingLong(ScheduledCommand::getSequence));
+    /**
+     * queued once per worker on close, it sorts after every command so the workers drain the queue first.
+     */
+    private final ScheduledCommand stop = new ScheduledCommand(() -> {
+    }, 0, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 0);
+    private final Thread[] workers;
+    private volatile boolean running = true;
+
+    /**
+     * @param agingStep     how much deadline one priority level is worth.
+     * @param defaultBudget the deadline of commands submitted without one, counted from submission.
+     */
+    public CommandScheduler(int workerCount, long agingStep, long defaultBudget, TimeUnit unit) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("workerCount must be positive: " + workerCount);
+        }
+        this.agingStepNanos = unit.toNanos(agingStep);
+        this.defaultBudgetNanos = unit.toNanos(defaultBudget);
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Thread(this::work, "command-scheduler-" + i);
+            workers[i].start();
+        }
+    }
+
+    public CompletableFuture<ScheduledCommand> submit(Command command, int priority) {
+        long now = System.nanoTime();
+        return enqueue(command, priority, now + defaultBudgetNanos, now);
+    }
+
+    /**
+     * @param deadline a {@link System#nanoTime()} value.
+     */
+    public CompletableFuture<ScheduledCommand> submit(Command command, int priority, long deadline) {
+        return enqueue(command, priority, deadline, System.nanoTime());
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * run the commands already submitted, then stop the workers. Running commands are not interrupted;
+     * if the calling thread is interrupted it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (int i = 0; i < workers.length; i++) {
+            queue.add(stop);
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<ScheduledCommand> enqueue(Command command, int priority, long deadline, long now) {
+        if (!running) {
+            throw new IllegalStateException("scheduler is closed");
+        }
+        ScheduledCommand scheduled = new ScheduledCommand(command, priority, deadline,
+                deadline - priority * agingStepNanos, sequence.getAndIncrement(), now);
+        queue.add(scheduled);
+        // Closed meanwhile: take it back unless a worker already has it.
+        if (!running && queue.remove(scheduled)) {
+            throw new IllegalStateException("scheduler is closed");
+        }
+        return scheduled.getFuture();
+    }
+
+    private void work() {
+        while (true) {
+            ScheduledCommand next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (next == stop) {
+                return;
+            }
+            next.run();
+        }
+    }
+}
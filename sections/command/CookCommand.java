@@ -8,8 +8,12 @@ public class CookCommand implements Command {
     private final Chef chef;
 
     public CookCommand(Order order) {
+        this(order, new Chef());
+    }
+
+    public CookCommand(Order order, Chef chef) {
         this.order = order;
-        this.chef = new Chef();
+        this.chef = chef;
     }
 
     @Override
@@ -18,4 +22,8 @@ public class CookCommand implements Command {
             chef.cooking(item);
         }
     }
+
+    public Order getOrder() {
+        return order;
+    }
 }
@@ -0,0 +1,159 @@
+package command;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects orders until maxOrders are pending or the window time has passed since the first one,
+ * then merges identical items across them and cooks each distinct item once with a {@link BatchCookCommand}.
+ * The future of every order in the batch completes when the batch is cooked.
+ *
+ * @author agent 2026-10-18 10:12
+ */
+public class ItemBatcher {
+    private final int maxOrders;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Kitchen kitchen;
+    private final Chef chef = new Chef();
+
+    private List<Order> orders = new ArrayList<>();
+    private List<CompletableFuture<Void>> futures = new ArrayList<>();
+    private long generation;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedOrders = new LongAdder();
+    private final LongAdder requestedItems = new LongAdder();
+    private final LongAdder cookedItems = new LongAdder();
+
+    /**
+     * @param window  0 to close batches by size only, then scheduler may be null.
+     * @param kitchen where batches are cooked, null to cook on the thread that closes the batch.
+     */
+    public ItemBatcher(int maxOrders, long window, TimeUnit unit, ScheduledExecutorService scheduler, Kitchen kitchen) {
+        if (maxOrders <= 0) {
+            throw new IllegalArgumentException("maxOrders must be positive: " + maxOrders);
+        }
+        if (window > 0 && scheduler == null) {
+            throw new IllegalArgumentException("a time window needs a scheduler");
+        }
+        this.maxOrders = maxOrders;
+        this.windowNanos = unit.toNanos(window);
+        this.scheduler = scheduler;
+        this.kitchen = kitchen;
+    }
+
+    public CompletableFuture<Void> submit(Order order) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean full;
+        synchronized (this) {
+            orders.add(order);
+            futures.add(future);
+            full = orders.size() >= maxOrders;
+            if (orders.size() == 1 && !full && windowNanos > 0) {
+                long current = generation;
+                scheduler.schedule(() -> flush(current), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * cook the pending orders now.
+     */
+    public void flush() {
+        List<Order> batch;
+        List<CompletableFuture<Void>> waiting;
+        synchronized (this) {
+            if (orders.isEmpty()) {
+                return;
+            }
+            batch = orders;
+            waiting = futures;
+            orders = new ArrayList<>();
+            futures = new ArrayList<>();
+            generation++;
+        }
+        cook(batch, waiting);
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) batchedOrders.sum() / count;
+    }
+
+    public long getRequestedItems() {
+        return requestedItems.sum();
+    }
+
+    public long getCookedItems() {
+        return cookedItems.sum();
+    }
+
+    /**
+     * how many times an item was not cooked because another order in its batch had it too.
+     */
+    public long getSavedCookings() {
+        return requestedItems.sum() - cookedItems.sum();
+    }
+
+    private void flush(long expectedGeneration) {
+        synchronized (this) {
+            if (generation != expectedGeneration) {
+                return;
+            }
+        }
+        flush();
+    }
+
+    private void cook(List<Order> batch, List<CompletableFuture<Void>> waiting) {
+        Map<String, Integer> portions = new LinkedHashMap<>();
+        int requested = 0;
+        for (Order order : batch) {
+            for (String item : order.getOrder()) {
+                portions.merge(item, 1, Integer::sum);
+                requested++;
+            }
+        }
+        batches.increment();
+        batchedOrders.add(batch.size());
+        requestedItems.add(requested);
+        cookedItems.add(portions.size());
+
+        Command command = new BatchCookCommand(portions, chef);
+        CompletableFuture<Void> cooked;
+        if (kitchen == null) {
+            cooked = new CompletableFuture<>();
+            try {
+                command.execute();
+                cooked.complete(null);
+            } catch (RuntimeException e) {
+                cooked.completeExceptionally(e);
+            }
+        } else {
+            cooked = kitchen.submit(command);
+        }
+        cooked.whenComplete((result, throwable) -> {
+            for (CompletableFuture<Void> future : waiting) {
+                if (throwable == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        });
+    }
+}
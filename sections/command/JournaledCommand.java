@@ -0,0 +1,24 @@
+package command;
+
+/**
+ * Logs the order durably to the journal before the command is executed.
+ *
+ * @author agent 2026-10-18 10:12
+ */
+public class JournaledCommand implements Command {
+    private final CommandJournal journal;
+    private final Order order;
+    private final Command command;
+
+    public JournaledCommand(CommandJournal journal, Order order, Command command) {
+        this.journal = journal;
+        this.order = order;
+        this.command = command;
+    }
+
+    @Override
+    public void execute() {
+        journal.sync(journal.append(order));
+        command.execute();
+    }
+}
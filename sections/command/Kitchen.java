@@ -0,0 +1,49 @@
+package command;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool of chefs that executes commands concurrently.
+ * One command runs on one chef from start to end, so the items of an order are still cooked in order,
+ * while independent orders are spread over all chefs.
+ *
+ * @author agent 2026-10-18 10:10
+ */
+public class Kitchen implements AutoCloseable {
+    private final ExecutorService chefs;
+
+    /**
+     * a work-stealing pool with the given number of chefs.
+     */
+    public Kitchen(int chefCount) {
+        this(Executors.newWorkStealingPool(chefCount));
+    }
+
+    public Kitchen(ExecutorService chefs) {
+        this.chefs = chefs;
+    }
+
+    /**
+     * @return completes when the command has been executed, or exceptionally with what it threw.
+     */
+    public CompletableFuture<Void> submit(Command command) {
+        return CompletableFuture.runAsync(command::execute, chefs);
+    }
+
+    /**
+     * finish the commands already submitted, then dismiss the chefs.
+     * If the calling thread is interrupted it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        chefs.shutdown();
+        try {
+            chefs.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
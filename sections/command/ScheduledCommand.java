@@ -0,0 +1,70 @@
+package command;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A command waiting in or executed by a {@link CommandScheduler}, with its timings.
+ *
+ * @author agent 2026-10-18 10:13
+ */
+public class ScheduledCommand {
+    private final Command command;
+    private final int priority;
+    private final long deadline;
+    private final long urgency;
+    private final long sequence;
+    private final long enqueuedAt;
+    private final CompletableFuture<ScheduledCommand> future = new CompletableFuture<>();
+    private long startedAt;
+    private long finishedAt;
+
+    ScheduledCommand(Command command, int priority, long deadline, long urgency, long sequence, long enqueuedAt) {
+        this.command = command;
+        this.priority = priority;
+        this.deadline = deadline;
+        this.urgency = urgency;
+        this.sequence = sequence;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    void run() {
+        startedAt = System.nanoTime();
+        try {
+            command.execute();
+            finishedAt = System.nanoTime();
+            future.complete(this);
+        } catch (RuntimeException | Error e) {
+            // Like CompletableFuture.runAsync, a failure belongs to the future and the worker carries on.
+            finishedAt = System.nanoTime();
+            future.completeExceptionally(e);
+        }
+    }
+
+    long getUrgency() {
+        return urgency;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    CompletableFuture<ScheduledCommand> getFuture() {
+        return future;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getQueueingNanos() {
+        return startedAt - enqueuedAt;
+    }
+
+    public long getExecutionNanos() {
+        return finishedAt - startedAt;
+    }
+
+    public boolean isDeadlineMissed() {
+        return finishedAt - deadline > 0;
+    }
+}
@@ -0,0 +1,69 @@
+package command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps the kitchen saturated with mostly banquet orders and a few rush orders,
+ * then compares the latency of rush orders under FIFO and under {@link CommandScheduler}.
+ *
+ * @author agent 2026-10-18 10:13
+ */
+public class SchedulerLoadTest {
+    private static final int ROUNDS = 60;
+    private static final int COMMANDS_PER_ROUND = 120;
+    private static final long ROUND_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int RUSH_EVERY = 10;
+
+    public static void main(String[] args) {
+        // Every order gets the same priority, which makes the scheduler FIFO.
+        report("FIFO", run(false));
+        report("priority", run(true));
+    }
+
+    private static List<ScheduledCommand> run(boolean prioritized) {
+        List<CompletableFuture<ScheduledCommand>> futures = new ArrayList<>();
+        try (CommandScheduler scheduler = new CommandScheduler(1, 10, 1_000, TimeUnit.MILLISECONDS)) {
+            Command cooking = SchedulerLoadTest::cook;
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < COMMANDS_PER_ROUND; i++) {
+                    int priority = prioritized && i % RUSH_EVERY == 0 ? 10 : 0;
+                    futures.add(scheduler.submit(cooking, priority));
+                }
+                LockSupport.parkNanos(ROUND_NANOS);
+            }
+        }
+        List<ScheduledCommand> done = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            if (i % COMMANDS_PER_ROUND % RUSH_EVERY == 0) {
+                done.add(futures.get(i).join());
+            }
+        }
+        return done;
+    }
+
+    private static void report(String name, List<ScheduledCommand> rushOrders) {
+        long[] latencies = new long[rushOrders.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            ScheduledCommand command = rushOrders.get(i);
+            latencies[i] = command.getQueueingNanos() + command.getExecutionNanos();
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-8s rush orders  p50: %8.2f ms  p99: %8.2f ms  max: %8.2f ms%n", name,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static void cook() {
+        long end = System.nanoTime() + WORK_NANOS;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
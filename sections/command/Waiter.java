@@ -2,15 +2,17 @@ package command;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Ruobing Shang 2022-10-07 19:43
  */
 public class Waiter {
+    private static final Chef CHEF = new Chef();
     private final List<CookCommand> cookCommands = new ArrayList<>();
 
     public void addOrder(Order order) {
-        cookCommands.add(new CookCommand(order));
+        cookCommands.add(new CookCommand(order, CHEF));
     }
 
     public void processOrders() {
@@ -20,4 +22,31 @@ public class Waiter {
             System.out.println("Order processing finished");
         }
     }
+
+    /**
+     * process the orders concurrently in the kitchen.
+     *
+     * @return one future per order, in the order they were added.
+     */
+    public List<CompletableFuture<Void>> processOrders(Kitchen kitchen) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(cookCommands.size());
+        for (CookCommand cookCommand : cookCommands) {
+            futures.add(kitchen.submit(cookCommand));
+        }
+        return futures;
+    }
+
+    /**
+     * process the orders through the batcher, identical items of different orders are cooked together.
+     *
+     * @return one future per order, in the order they were added.
+     */
+    public List<CompletableFuture<Void>> processOrders(ItemBatcher batcher) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(cookCommands.size());
+        for (CookCommand cookCommand : cookCommands) {
+            futures.add(batcher.submit(cookCommand.getOrder()));
+        }
+        batcher.flush();
+        return futures;
+    }
 }
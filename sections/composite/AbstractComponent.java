@@ -0,0 +1,113 @@
+package composite;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parent links and cached aggregates shared by {@link Menu}, {@link SubMenu} and {@link MenuItem}.
+ * A composite only caches a value once its composite children have cached theirs, so a composite
+ * without cached values has no ancestor depending on it and invalidation can stop there.
+ * Cold values are computed bottom-up from an explicit stack, so deep trees are safe.
+ * Components of other classes can be added but are neither linked nor cached.
+ *
+ * @author agent 2026-10-18 10:41
+ */
+abstract class AbstractComponent implements Component {
+    private AbstractComponent parent;
+    private Map<Aggregate<?>, Object> aggregates;
+
+    @Override
+    public Component getParent() {
+        return parent;
+    }
+
+    @Override
+    public <T> T aggregate(Aggregate<T> aggregate) {
+        T value = cached(aggregate);
+        if (value != null) {
+            return value;
+        }
+        if (getChildren() == null) {
+            return Objects.requireNonNull(aggregate.compute(this, Collections.emptyList()));
+        }
+        ArrayDeque<AbstractComponent> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            AbstractComponent node = stack.peek();
+            if (node.cached(aggregate) != null) {
+                stack.pop();
+                continue;
+            }
+            boolean ready = true;
+            for (Component child : node.getChildren()) {
+                if (isCachingComposite(child) && ((AbstractComponent) child).cached(aggregate) == null) {
+                    stack.push((AbstractComponent) child);
+                    ready = false;
+                }
+            }
+            if (ready) {
+                stack.pop();
+                node.computeFromChildren(aggregate);
+            }
+        }
+        return cached(aggregate);
+    }
+
+    /**
+     * link a child that was just added to this composite.
+     */
+    void adopt(Component child) {
+        if (child instanceof AbstractComponent) {
+            ((AbstractComponent) child).parent = this;
+        }
+        invalidate();
+    }
+
+    /**
+     * unlink a child that was just removed from this composite.
+     */
+    void release(Component child) {
+        if (child instanceof AbstractComponent) {
+            ((AbstractComponent) child).parent = null;
+        }
+        invalidate();
+    }
+
+    /**
+     * drop the cached values of this component and of every ancestor that depended on them.
+     */
+    private void invalidate() {
+        AbstractComponent node = this;
+        while (node != null && node.aggregates != null && !node.aggregates.isEmpty()) {
+            node.aggregates.clear();
+            node = node.parent;
+        }
+    }
+
+    private <T> void computeFromChildren(Aggregate<T> aggregate) {
+        List<Component> children = getChildren();
+        List<T> childValues = new ArrayList<>(children.size());
+        for (Component child : children) {
+            childValues.add(isCachingComposite(child) ? ((AbstractComponent) child).cached(aggregate) : child.aggregate(aggregate));
+        }
+        T value = Objects.requireNonNull(aggregate.compute(this, childValues));
+        if (aggregates == null) {
+            aggregates = new HashMap<>();
+        }
+        aggregates.put(aggregate, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Aggregate<T> aggregate) {
+        return aggregates == null ? null : (T) aggregates.get(aggregate);
+    }
+
+    private static boolean isCachingComposite(Component component) {
+        return component instanceof AbstractComponent && component.getChildren() != null;
+    }
+}
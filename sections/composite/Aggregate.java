@@ -0,0 +1,49 @@
+package composite;
+
+import java.util.List;
+
+/**
+ * A value computed over a subtree from the node itself and the values of its children.
+ * {@link Menu} and {@link SubMenu} cache the result per aggregate until something below them changes.
+ * The function must depend only on what it is given, since cached children are not recomputed,
+ * and must not return null.
+ *
+ * @author agent 2026-10-18 10:29
+ */
+@FunctionalInterface
+public interface Aggregate<T> {
+    Aggregate<Integer> ITEM_COUNT = (component, children) -> {
+        int count = component instanceof MenuItem ? 1 : 0;
+        for (int childCount : children) {
+            count += childCount;
+        }
+        return count;
+    };
+
+    Aggregate<Double> TOTAL_PRICE = (component, children) -> {
+        double total = component instanceof MenuItem ? ((MenuItem) component).getPrice() : 0;
+        for (double childTotal : children) {
+            total += childTotal;
+        }
+        return total;
+    };
+
+    /**
+     * the text {@link Component#operation()} prints for the subtree.
+     */
+    Aggregate<String> TEXT = (component, children) -> {
+        StringBuilder text = new StringBuilder();
+        if (component instanceof SubMenu) {
+            text.append('\t');
+        } else if (component instanceof MenuItem) {
+            text.append("\t\t");
+        }
+        text.append(component.getName()).append(System.lineSeparator());
+        for (String childText : children) {
+            text.append(childText);
+        }
+        return text.toString();
+    };
+
+    T compute(Component component, List<T> children);
+}
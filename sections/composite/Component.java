@@ -13,4 +13,13 @@ public interface Component {
     List<Component> getChildren();
 
     void operation();
+
+    String getName();
+
+    Component getParent();
+
+    /**
+     * the aggregate over this subtree, cached by composites until a descendant is added or removed.
+     */
+    <T> T aggregate(Aggregate<T> aggregate);
 }
@@ -0,0 +1,100 @@
+package composite;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Visits every node of a {@link Component} tree without recursion, so trees of any depth are safe.
+ * The sequential walk is pre-order. The parallel walk runs on a {@link ForkJoinPool}: each task walks
+ * its part of the tree from an explicit stack and hands half of that stack to a new task once it holds
+ * more pending nodes than the sequential cutoff and its queue is not already backed up, so small subtrees
+ * never leave the task that found them.
+ * Tasks complete by counting down rather than joining, which keeps deep trees off the call stack too.
+ * In parallel the visitor must be thread-safe and sees the nodes in no particular order.
+ *
+ * @author agent 2026-10-18 10:28
+ */
+public final class ComponentTraversal {
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 256;
+    /**
+     * stop splitting while a worker already has this many more queued tasks than idle peers could steal.
+     */
+    private static final int MAX_SURPLUS = 3;
+
+    private ComponentTraversal() {
+    }
+
+    public static void forEach(Component root, Consumer<? super Component> visitor) {
+        ArrayDeque<Component> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Component node = stack.pop();
+            visitor.accept(node);
+            pushChildren(stack, node);
+        }
+    }
+
+    public static void forEachParallel(Component root, Consumer<? super Component> visitor) {
+        forEachParallel(root, visitor, ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    /**
+     * @param sequentialCutoff pending nodes a task keeps to itself before splitting half of them off.
+     */
+    public static void forEachParallel(Component root, Consumer<? super Component> visitor,
+                                       ForkJoinPool pool, int sequentialCutoff) {
+        if (sequentialCutoff < 1) {
+            throw new IllegalArgumentException("sequentialCutoff must be positive: " + sequentialCutoff);
+        }
+        ArrayDeque<Component> stack = new ArrayDeque<>();
+        stack.push(root);
+        pool.invoke(new VisitTask(null, stack, visitor, sequentialCutoff));
+    }
+
+    private static void pushChildren(ArrayDeque<Component> stack, Component node) {
+        List<Component> children = node.getChildren();
+        if (children == null) {
+            return;
+        }
+        for (int i = children.size() - 1; i >= 0; i--) {
+            stack.push(children.get(i));
+        }
+    }
+
+    private static final class VisitTask extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayDeque<Component> stack;
+        private final Consumer<? super Component> visitor;
+        private final int sequentialCutoff;
+
+        VisitTask(CountedCompleter<?> parent, ArrayDeque<Component> stack,
+                  Consumer<? super Component> visitor, int sequentialCutoff) {
+            super(parent);
+            this.stack = stack;
+            this.visitor = visitor;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        public void compute() {
+            while (!stack.isEmpty()) {
+                Component node = stack.pop();
+                visitor.accept(node);
+                pushChildren(stack, node);
+                if (stack.size() > sequentialCutoff && getSurplusQueuedTaskCount() < MAX_SURPLUS) {
+                    ArrayDeque<Component> half = new ArrayDeque<>();
+                    for (int i = stack.size() / 2; i > 0; i--) {
+                        half.push(stack.pollLast());
+                    }
+                    addToPendingCount(1);
+                    new VisitTask(this, half, visitor, sequentialCutoff).fork();
+                }
+            }
+            tryComplete();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package composite;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Time to visit a wide menu tree (a thousand submenus of a thousand items) and a deep one (a chain
+ * of submenus, each holding an item) recursively like {@link Menu#operation()}, with the iterative
+ * {@link ComponentTraversal#forEach} and with {@link ComponentTraversal#forEachParallel}.
+ *
+ * @author agent 2026-10-18 10:28
+ */
+public class ComponentTraversalBenchmark {
+    private static final int WIDTH = 1_000;
+    private static final int DEPTH = 200_000;
+    private static final int WORK_PER_NODE = 64;
+
+    public static void main(String[] args) {
+        Component wide = new Menu("wide");
+        for (int i = 0; i < WIDTH; i++) {
+            SubMenu subMenu = new SubMenu("SubMenu " + i);
+            for (int j = 0; j < WIDTH; j++) {
+                subMenu.add(new MenuItem("MenuItem " + j));
+            }
+            wide.add(subMenu);
+        }
+        Component deep = new Menu("deep");
+        Component tail = deep;
+        for (int i = 0; i < DEPTH; i++) {
+            SubMenu subMenu = new SubMenu("SubMenu " + i);
+            subMenu.add(new MenuItem("MenuItem " + i));
+            tail.add(subMenu);
+            tail = subMenu;
+        }
+
+        System.out.printf("%d cores%n", Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < 3; round++) {
+            run("wide", wide);
+            run("deep", deep);
+        }
+    }
+
+    private static void run(String tree, Component root) {
+        measure(tree, "recursive", visitor -> recurse(root, visitor));
+        measure(tree, "forEach", visitor -> ComponentTraversal.forEach(root, visitor));
+        measure(tree, "forEachParallel", visitor -> ComponentTraversal.forEachParallel(root, visitor));
+    }
+
+    private static void measure(String tree, String mode, Consumer<Consumer<Component>> traversal) {
+        LongAdder visited = new LongAdder();
+        LongAdder checksum = new LongAdder();
+        Consumer<Component> visitor = node -> {
+            visited.increment();
+            checksum.add(work(node));
+        };
+        long start = System.nanoTime();
+        try {
+            traversal.accept(visitor);
+        } catch (StackOverflowError e) {
+            System.out.printf("%s %-16s stack overflow after %d nodes%n", tree, mode, visited.sum());
+            return;
+        }
+        System.out.printf("%s %-16s %8d nodes %7.1f ms%n", tree, mode, visited.sum(), (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void recurse(Component node, Consumer<Component> visitor) {
+        visitor.accept(node);
+        if (node.getChildren() != null) {
+            for (Component child : node.getChildren()) {
+                recurse(child, visitor);
+            }
+        }
+    }
+
+    private static long work(Component node) {
+        long hash = System.identityHashCode(node);
+        for (int i = 0; i < WORK_PER_NODE; i++) {
+            hash = hash * 31 + (hash >>> 7);
+        }
+        return hash;
+    }
+}
@@ -1,12 +1,13 @@
 package composite;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * @author Ruobing Shang 2022-10-01 14:39
  */
-public class Menu implements Component {
+public class Menu extends AbstractComponent {
     private final String name;
     private final List<Component> children = new ArrayList<>();
 
@@ -16,17 +17,23 @@ public class Menu implements Component {
 
     @Override
     public void add(Component component) {
+        if (component.getParent() != null) {
+            component.getParent().remove(component);
+        }
         children.add(component);
+        adopt(component);
     }
 
     @Override
     public void remove(Component component) {
-        component.remove(component);
+        if (children.remove(component)) {
+            release(component);
+        }
     }
 
     @Override
     public List<Component> getChildren() {
-        return children;
+        return Collections.unmodifiableList(children);
     }
 
     @Override
@@ -36,4 +43,9 @@ public class Menu implements Component {
             child.operation();
         }
     }
+
+    @Override
+    public String getName() {
+        return name;
+    }
 }
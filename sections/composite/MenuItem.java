@@ -5,11 +5,17 @@ import java.util.List;
 /**
  * @author Ruobing Shang 2022-10-01 14:43
  */
-public class MenuItem implements Component {
+public class MenuItem extends AbstractComponent {
     private final String name;
+    private final double price;
 
     public MenuItem(String name) {
+        this(name, 0);
+    }
+
+    public MenuItem(String name, double price) {
         this.name = name;
+        this.price = price;
     }
 
     @Override
@@ -29,4 +35,13 @@ public class MenuItem implements Component {
     public void operation() {
         System.out.println("\t\t" + name);
     }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
 }
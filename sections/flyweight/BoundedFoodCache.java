@@ -0,0 +1,162 @@
+package flyweight;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flyweight cache holding at most maximumSize foods, with W-TinyLFU admission and eviction.
+ * New foods enter a small LRU window; a food leaving the window only enters the main space if it has been
+ * asked for more often than the food it would push out, as estimated by a {@link FrequencySketch}.
+ * The main space is a segmented LRU, foods asked for again move from probation to protected.
+ * <p>
+ * Hits read a concurrent map without locking; the bookkeeping of a hit is skipped when another
+ * thread holds the policy lock, which loses a little accuracy instead of making readers wait.
+ *
+ * @author agent 2026-10-18 10:20
+ */
+public class BoundedFoodCache implements FoodCache {
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final ConcurrentHashMap<String, Food> foods = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<String, Food> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Food> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Food> protectedFoods = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BoundedFoodCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public Food get(String name) {
+        Food food = foods.get(name);
+        if (food != null) {
+            hits.increment();
+            if (lock.tryLock()) {
+                try {
+                    onHit(name);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return food;
+        }
+        lock.lock();
+        try {
+            food = foods.get(name);
+            if (food != null) {
+                hits.increment();
+                onHit(name);
+                return food;
+            }
+            misses.increment();
+            food = new Food(name);
+            sketch.increment(name);
+            foods.put(name, food);
+            window.put(name, food);
+            if (window.size() > windowMaximum) {
+                admit(removeEldest(window));
+            }
+            return food;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Food find(String name) {
+        Food food = foods.get(name);
+        if (food != null) {
+            hits.increment();
+            if (lock.tryLock()) {
+                try {
+                    onHit(name);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        return food;
+    }
+
+    @Override
+    public boolean holds(String name, Food food) {
+        return foods.get(name) == food;
+    }
+
+    @Override
+    public int size() {
+        return foods.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void onHit(String name) {
+        sketch.increment(name);
+        if (window.get(name) != null || protectedFoods.get(name) != null) {
+            return;
+        }
+        Food food = probation.remove(name);
+        if (food == null) {
+            return;
+        }
+        protectedFoods.put(name, food);
+        if (protectedFoods.size() > protectedMaximum) {
+            Map.Entry<String, Food> demoted = removeEldest(protectedFoods);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    /**
+     * the candidate left the window, it either joins probation or is evicted.
+     */
+    private void admit(Map.Entry<String, Food> candidate) {
+        if (probation.size() + protectedFoods.size() < maximumSize - windowMaximum) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        LinkedHashMap<String, Food> victims = probation.isEmpty() ? protectedFoods : probation;
+        if (victims.isEmpty()) {
+            foods.remove(candidate.getKey());
+            return;
+        }
+        String victim = victims.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            foods.remove(victim);
+            probation.put(candidate.getKey(), candidate.getValue());
+        } else {
+            foods.remove(candidate.getKey());
+        }
+    }
+
+    private static Map.Entry<String, Food> removeEldest(LinkedHashMap<String, Food> region) {
+        Iterator<Map.Entry<String, Food>> iterator = region.entrySet().iterator();
+        Map.Entry<String, Food> eldest = iterator.next();
+        Map.Entry<String, Food> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return removed;
+    }
+}
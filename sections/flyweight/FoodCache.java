@@ -0,0 +1,30 @@
+package flyweight;
+
+/**
+ * Where {@link Restaurant} keeps its flyweights, chosen with {@link Restaurant#useFoodCache(FoodCache)}:
+ * {@link FoodPool} keeps every food forever, {@link BoundedFoodCache} and {@link ReferenceFoodCache} let foods go.
+ *
+ * @author agent 2026-10-18 10:20
+ */
+public interface FoodCache {
+    Food get(String name);
+
+    /**
+     * @return the cached food, or null without creating it.
+     */
+    Food find(String name);
+
+    /**
+     * whether a food returned by {@link #get(String)} for the name is still the one the cache hands out,
+     * checked without counting a hit. Caches that cannot tell cheaply answer false.
+     */
+    default boolean holds(String name, Food food) {
+        return false;
+    }
+
+    int size();
+
+    long getHits();
+
+    long getMisses();
+}
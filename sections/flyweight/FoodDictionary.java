@@ -0,0 +1,120 @@
+package flyweight;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Assigns every distinct food a dense int id, 0, 1, 2 ... in order of first appearance.
+ * Collections can then keep int ids instead of references and resolve them back when needed.
+ * Ids resolve through a plain array indexed by id, no boxing and no hashing. Each entry remembers the
+ * {@link Food} its name last resolved to in the {@link FoodCache} the dictionary was given, and only asks
+ * the cache again when the cache was replaced or no longer holds that food,
+ * so an id and its name always resolve to the same instance and repeated resolves are not counted as hits.
+ *
+ * @author agent 2026-10-18 10:21
+ */
+public class FoodDictionary {
+    private final ConcurrentHashMap<String, Entry> byName = new ConcurrentHashMap<>();
+    private volatile Entry[] byId = new Entry[16];
+    private int size;
+    private final Supplier<FoodCache> foods;
+
+    public FoodDictionary() {
+        this(new FoodPool());
+    }
+
+    public FoodDictionary(FoodCache foods) {
+        Objects.requireNonNull(foods);
+        this.foods = () -> foods;
+    }
+
+    /**
+     * @param foods the flyweight store ids resolve through, e.g. the one {@link Restaurant} currently uses.
+     */
+    public FoodDictionary(Supplier<FoodCache> foods) {
+        this.foods = Objects.requireNonNull(foods);
+    }
+
+    public int idOf(String name) {
+        Entry entry = byName.get(name);
+        if (entry == null) {
+            entry = byName.computeIfAbsent(name, this::register);
+        }
+        return entry.id;
+    }
+
+    /**
+     * @return the id, or -1 if the name has none.
+     */
+    public int find(String name) {
+        Entry entry = byName.get(name);
+        return entry == null ? -1 : entry.id;
+    }
+
+    public Food food(int id) {
+        Entry entry = entry(id);
+        FoodCache cache = foods.get();
+        Resolved resolved = entry.resolved;
+        if (resolved != null && resolved.cache == cache && cache.holds(entry.name, resolved.food)) {
+            return resolved.food;
+        }
+        Food food = cache.get(entry.name);
+        entry.resolved = new Resolved(cache, food);
+        return food;
+    }
+
+    public String name(int id) {
+        return entry(id).name;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private Entry entry(int id) {
+        Entry[] entries = byId;
+        Entry entry = id >= 0 && id < entries.length ? entries[id] : null;
+        if (entry == null) {
+            throw new IndexOutOfBoundsException("unknown food id: " + id);
+        }
+        return entry;
+    }
+
+    private synchronized Entry register(String name) {
+        Entry entry = new Entry(size, name);
+        Entry[] entries = byId;
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = entry;
+        // Republish so readers of the volatile array also see the new slot.
+        byId = entries;
+        return entry;
+    }
+
+    private static final class Entry {
+        private final int id;
+        private final String name;
+        private volatile Resolved resolved;
+
+        private Entry(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * a food and the cache it came from, replaced as a whole so readers never see a mismatched pair.
+     */
+    private static final class Resolved {
+        private final FoodCache cache;
+        private final Food food;
+
+        private Resolved(FoodCache cache, Food food) {
+            this.cache = cache;
+            this.food = food;
+        }
+    }
+}
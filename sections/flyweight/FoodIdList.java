@@ -0,0 +1,68 @@
+package flyweight;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A list of foods stored as ids of a {@link FoodDictionary}, 4 bytes per element in one int array.
+ *
+ * @author agent 2026-10-18 10:21
+ */
+public class FoodIdList {
+    private final FoodDictionary dictionary;
+    private int[] ids;
+    private int size;
+
+    public FoodIdList(FoodDictionary dictionary) {
+        this(dictionary, 16);
+    }
+
+    public FoodIdList(FoodDictionary dictionary, int initialCapacity) {
+        this.dictionary = dictionary;
+        this.ids = new int[Math.max(1, initialCapacity)];
+    }
+
+    public FoodIdList add(String name) {
+        return addId(dictionary.idOf(name));
+    }
+
+    public FoodIdList addId(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+        return this;
+    }
+
+    public int getId(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of " + size);
+        }
+        return ids[index];
+    }
+
+    public Food get(int index) {
+        return dictionary.food(getId(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEachId(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(ids[i]);
+        }
+    }
+
+    /**
+     * how many times each id occurs, indexed by id.
+     */
+    public int[] countById() {
+        int[] counts = new int[dictionary.size()];
+        for (int i = 0; i < size; i++) {
+            counts[ids[i]]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,69 @@
+package flyweight;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe flyweight factory, exactly one {@link Food} is ever created per name.
+ * A hit is a plain lock-free read, a miss only locks the hash bin of its name,
+ * so callers asking for different names do not wait for each other.
+ *
+ * @author agent 2026-10-18 10:18
+ */
+public class FoodPool implements FoodCache {
+    private final ConcurrentHashMap<String, Food> foods = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public Food get(String name) {
+        Food food = foods.get(name);
+        if (food != null) {
+            hits.increment();
+            return food;
+        }
+        boolean[] made = new boolean[1];
+        food = foods.computeIfAbsent(name, key -> {
+            made[0] = true;
+            return new Food(key);
+        });
+        if (made[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return food;
+    }
+
+    @Override
+    public Food find(String name) {
+        Food food = foods.get(name);
+        if (food != null) {
+            hits.increment();
+        }
+        return food;
+    }
+
+    /**
+     * always true, the pool never lets a food go.
+     */
+    @Override
+    public boolean holds(String name, Food food) {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return foods.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,66 @@
+package flyweight;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Lookup throughput of {@link FoodPool} and of a HashMap behind one global lock, from 1 to 64 threads.
+ *
+ * @author agent 2026-10-18 10:18
+ */
+public class FoodPoolBenchmark {
+    private static final int NAMES = 1_000;
+    private static final int LOOKUPS = 4_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] names = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            names[i] = "Dish" + i;
+        }
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            FoodPool foodPool = new FoodPool();
+            Map<String, Food> lockedMap = new HashMap<>();
+            Function<String, Food> locked = name -> {
+                synchronized (lockedMap) {
+                    return lockedMap.computeIfAbsent(name, Food::new);
+                }
+            };
+            measure(foodPool::get, names, threads);
+            measure(locked, names, threads);
+            System.out.printf("%2d threads  FoodPool: %,13.0f lookups/s  global lock: %,13.0f lookups/s  (misses %d)%n",
+                    threads, measure(foodPool::get, names, threads), measure(locked, names, threads),
+                    foodPool.getMisses());
+        }
+    }
+
+    private static double measure(Function<String, Food> serve, String[] names, int threads) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        int perThread = LOOKUPS / threads;
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 31;
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    serve.apply(names[(i + offset) % names.length]);
+                }
+            });
+            workers[t].start();
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) perThread * threads * 1e9 / (System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,72 @@
+package flyweight;
+
+/**
+ * Count-Min sketch of 4-bit counters that estimates how often a key was seen recently.
+ * All counters are halved once sampleSize increments have been recorded, so old popularity fades.
+ *
+ * @author agent 2026-10-18 10:20
+ */
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F};
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        table = new long[size];
+        mask = size - 1;
+        sampleSize = 10 * Math.max(16, capacity);
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            int shift = counterShift(hash, i);
+            frequency = Math.min(frequency, (int) ((table[index] >>> shift) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            int shift = counterShift(hash, i);
+            if (((table[index] >>> shift) & 0xF) != 0xF) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & HALF_MASK;
+            }
+            additions /= 2;
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return (h ^ (h >>> 17)) & mask;
+    }
+
+    /**
+     * each row uses its own group of four counters in the 16 counters of a long.
+     */
+    private static int counterShift(int hash, int row) {
+        return ((row << 2) + ((hash >>> (row << 3)) & 3)) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 15);
+    }
+}
@@ -0,0 +1,142 @@
+package flyweight;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flyweight cache that holds its foods through weak or soft references, so foods nobody uses any more
+ * can be collected. Weak foods go as soon as the last order drops them, soft foods stay until memory runs low.
+ * While a food is referenced elsewhere, every caller still gets that same instance.
+ *
+ * @author agent 2026-10-18 10:20
+ */
+public class ReferenceFoodCache implements FoodCache {
+    public enum Strength {
+        WEAK,
+        SOFT
+    }
+
+    private final Strength strength;
+    private final ConcurrentHashMap<String, Reference<Food>> foods = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Food> collected = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReferenceFoodCache(Strength strength) {
+        this.strength = strength;
+    }
+
+    @Override
+    public Food get(String name) {
+        Reference<Food> reference = foods.get(name);
+        Food food = reference == null ? null : reference.get();
+        if (food != null) {
+            hits.increment();
+            return food;
+        }
+        purge();
+        Food[] result = new Food[1];
+        boolean[] made = new boolean[1];
+        foods.compute(name, (key, current) -> {
+            Food existing = current == null ? null : current.get();
+            if (existing != null) {
+                result[0] = existing;
+                return current;
+            }
+            result[0] = new Food(key);
+            made[0] = true;
+            return reference(key, result[0]);
+        });
+        if (made[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result[0];
+    }
+
+    @Override
+    public Food find(String name) {
+        Reference<Food> reference = foods.get(name);
+        Food food = reference == null ? null : reference.get();
+        if (food != null) {
+            hits.increment();
+        }
+        return food;
+    }
+
+    @Override
+    public boolean holds(String name, Food food) {
+        Reference<Food> reference = foods.get(name);
+        return reference != null && reference.get() == food;
+    }
+
+    /**
+     * the number of entries, including those whose food was collected but not purged yet.
+     */
+    @Override
+    public int size() {
+        purge();
+        return foods.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Reference<Food> reference(String name, Food food) {
+        return strength == Strength.WEAK
+                ? new WeakFood(name, food, collected)
+                : new SoftFood(name, food, collected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        Reference<? extends Food> reference;
+        while ((reference = collected.poll()) != null) {
+            foods.remove(((Named) reference).name(), (Reference<Food>) reference);
+        }
+    }
+
+    private interface Named {
+        String name();
+    }
+
+    private static final class WeakFood extends WeakReference<Food> implements Named {
+        private final String name;
+
+        private WeakFood(String name, Food food, ReferenceQueue<Food> queue) {
+            super(food, queue);
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+
+    private static final class SoftFood extends SoftReference<Food> implements Named {
+        private final String name;
+
+        private SoftFood(String name, Food food, ReferenceQueue<Food> queue) {
+            super(food, queue);
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+}
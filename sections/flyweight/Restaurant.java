@@ -1,21 +1,49 @@
 package flyweight;
 
-import java.util.HashMap;
+import java.util.Objects;
 
 /**
  * @author Ruobing Shang 2022-10-04 16:35
  */
 public class Restaurant {
-    private static final HashMap<String, Food> foodMap = new HashMap<>();
+    private static volatile FoodCache foodCache = new FoodPool();
+    private static final FoodDictionary foodDictionary = new FoodDictionary(() -> foodCache);
 
     public static Food serve(String name) {
-        if (foodMap.containsKey(name)) {
+        FoodCache foods = foodCache;
+        Food food = foods.find(name);
+        if (food != null) {
             System.out.print("Already owned ");
-            return foodMap.get(name);
+            return food;
         }
         System.out.print("Making ");
-        Food food = new Food(name);
-        foodMap.put(name, food);
-        return food;
+        return foods.get(name);
+    }
+
+    /**
+     * replace the flyweight store, e.g. with a {@link BoundedFoodCache} or a {@link ReferenceFoodCache}
+     * when the menu is open-ended. Foods already served stay valid but are no longer shared with later orders.
+     */
+    public static void useFoodCache(FoodCache cache) {
+        foodCache = Objects.requireNonNull(cache);
+    }
+
+    public static FoodCache getFoodCache() {
+        return foodCache;
+    }
+
+    /**
+     * serve by id, keep the id instead of the food and resolve it with {@link #resolve(int)}.
+     */
+    public static int serveId(String name) {
+        return foodDictionary.idOf(name);
+    }
+
+    public static Food resolve(int id) {
+        return foodDictionary.food(id);
+    }
+
+    public static FoodDictionary getFoodDictionary() {
+        return foodDictionary;
     }
 }
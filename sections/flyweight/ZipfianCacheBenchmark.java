@@ -0,0 +1,124 @@
+package flyweight;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Hit ratio and retained heap of the flyweight caches when dish popularity follows a Zipfian distribution.
+ * A plain LRU of the same size is the reference for the hit ratio of {@link BoundedFoodCache}.
+ *
+ * @author agent 2026-10-18 10:20
+ */
+public class ZipfianCacheBenchmark {
+    private static final int DISHES = 1_000_000;
+    private static final int ORDERS = 5_000_000;
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final double EXPONENT = 0.9;
+
+    public static void main(String[] args) {
+        String[] names = new String[DISHES];
+        for (int i = 0; i < DISHES; i++) {
+            names[i] = "Dish" + i;
+        }
+        int[] orders = zipfian(new Random(42));
+
+        report("unbounded FoodPool", new FoodPool(), names, orders);
+        report("W-TinyLFU " + MAXIMUM_SIZE, new BoundedFoodCache(MAXIMUM_SIZE), names, orders);
+        report("LRU " + MAXIMUM_SIZE, new LruFoodCache(MAXIMUM_SIZE), names, orders);
+        report("weak references", new ReferenceFoodCache(ReferenceFoodCache.Strength.WEAK), names, orders);
+        report("soft references", new ReferenceFoodCache(ReferenceFoodCache.Strength.SOFT), names, orders);
+    }
+
+    private static void report(String name, FoodCache cache, String[] names, int[] orders) {
+        long before = usedMemory();
+        for (int order : orders) {
+            cache.get(names[order]);
+        }
+        // Reference caches drop the entries of collected foods when they are asked for their size.
+        usedMemory();
+        int entries = cache.size();
+        long retained = usedMemory() - before;
+        System.out.printf("%-20s hit ratio: %5.1f%%  entries: %,9d  retained: %,7d KB%n", name,
+                100.0 * cache.getHits() / (cache.getHits() + cache.getMisses()), entries, retained / 1024);
+    }
+
+    /**
+     * dish indexes drawn with probability proportional to 1 / rank^EXPONENT.
+     */
+    private static int[] zipfian(Random random) {
+        double[] cumulative = new double[DISHES];
+        double sum = 0;
+        for (int i = 0; i < DISHES; i++) {
+            sum += 1 / Math.pow(i + 1, EXPONENT);
+            cumulative[i] = sum;
+        }
+        int[] orders = new int[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            orders[i] = Math.min(DISHES - 1, index < 0 ? -index - 1 : index);
+        }
+        return orders;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class LruFoodCache implements FoodCache {
+        private final Map<String, Food> foods;
+        private long hits;
+        private long misses;
+
+        LruFoodCache(int maximumSize) {
+            foods = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Food> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        @Override
+        public Food get(String name) {
+            Food food = foods.get(name);
+            if (food != null) {
+                hits++;
+                return food;
+            }
+            misses++;
+            food = new Food(name);
+            foods.put(name, food);
+            return food;
+        }
+
+        @Override
+        public Food find(String name) {
+            Food food = foods.get(name);
+            if (food != null) {
+                hits++;
+            }
+            return food;
+        }
+
+        @Override
+        public int size() {
+            return foods.size();
+        }
+
+        @Override
+        public long getHits() {
+            return hits;
+        }
+
+        @Override
+        public long getMisses() {
+            return misses;
+        }
+    }
+}
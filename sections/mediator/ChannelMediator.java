@@ -0,0 +1,160 @@
+package mediator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mediator with named channels (rooms, buildings) and direct messages.
+ * People are indexed by name and channels by their name, so delivering a message never scans everyone.
+ * Channels are spread over single-threaded shards: messages of one channel keep their order,
+ * messages of different channels are delivered in parallel. {@link #notify(Person, String)} keeps the {@link HouseMediator}
+ * meaning and returns once everyone has received the message; {@link #broadcast} and {@link #sendTo} return
+ * at once. Shard threads are daemons, close the mediator to deliver pending broadcasts before the JVM exits.
+ *
+ * @author agent 2026-10-18 10:04
+ */
+public class ChannelMediator implements Mediator, AutoCloseable {
+    /**
+     * the channel every registered person joins.
+     */
+    public static final String LOBBY = "lobby";
+
+    private final ConcurrentHashMap<String, Person> people = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<Person>> channels = new ConcurrentHashMap<>();
+    private final ExecutorService[] shards;
+    /**
+     * the thread of each shard, set before it starts, so a shard thread always sees its own.
+     */
+    private final Thread[] shardThreads;
+
+    public ChannelMediator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ChannelMediator(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+        }
+        shards = new ExecutorService[shardCount];
+        shardThreads = new Thread[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            shards[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "channel-mediator-" + shard);
+                thread.setDaemon(true);
+                shardThreads[shard] = thread;
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * names must be unique within a mediator.
+     */
+    @Override
+    public void register(Person person) {
+        Person existing = people.putIfAbsent(person.name, person);
+        if (existing != null && existing != person) {
+            throw new IllegalArgumentException("name already registered: " + person.name);
+        }
+        person.setMediator(this);
+        join(LOBBY, person);
+    }
+
+    public void join(String channel, Person person) {
+        channels.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).addIfAbsent(person);
+    }
+
+    public void leave(String channel, Person person) {
+        CopyOnWriteArrayList<Person> members = channels.get(channel);
+        if (members != null) {
+            members.remove(person);
+        }
+    }
+
+    /**
+     * send to every other registered person and wait until they have received it, like {@link HouseMediator}.
+     * The message is ordered with the lobby broadcasts; an exception from a receiver is rethrown here.
+     * If the calling thread is interrupted it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void notify(Person person, String message) {
+        CopyOnWriteArrayList<Person> members = channels.get(LOBBY);
+        if (members == null) {
+            return;
+        }
+        int shard = shardIndex(LOBBY);
+        if (Thread.currentThread() == shardThreads[shard]) {
+            // A reply from receive() on the lobby shard itself, waiting for the shard would never end.
+            deliver(person, members, message);
+            return;
+        }
+        try {
+            shards[shard].submit(() -> deliver(person, members, message)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    /**
+     * returns at once, the message is delivered on the shard of the channel.
+     */
+    public void broadcast(Person person, String channel, String message) {
+        CopyOnWriteArrayList<Person> members = channels.get(channel);
+        if (members == null) {
+            return;
+        }
+        shards[shardIndex(channel)].execute(() -> deliver(person, members, message));
+    }
+
+    /**
+     * direct message, ordered with the other direct messages to the same person only.
+     */
+    public void sendTo(String name, String message) {
+        Person receiver = people.get(name);
+        if (receiver == null) {
+            throw new IllegalArgumentException("unknown person: " + name);
+        }
+        shards[shardIndex(name)].execute(() -> receiver.receive(message));
+    }
+
+    /**
+     * deliver the messages already sent, then stop the shards.
+     * If the calling thread is interrupted it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        try {
+            for (ExecutorService shard : shards) {
+                shard.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int shardIndex(String key) {
+        return Math.floorMod(key.hashCode(), shards.length);
+    }
+
+    private static void deliver(Person sender, CopyOnWriteArrayList<Person> members, String message) {
+        for (Person member : members) {
+            if (member != sender) {
+                member.receive(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package mediator;
+
+import java.util.Arrays;
+
+/**
+ * Send-to-receive latency percentiles of {@link HouseMediator} and {@link RingBufferMediator}.
+ * One message is in flight at a time, the sender waits for the receiver before sending the next one.
+ *
+ * @author agent 2026-10-18 10:10
+ */
+public class MediatorLatencyBenchmark {
+    private static final int WARMUP = 100_000;
+    private static final int MESSAGES = 500_000;
+
+    public static void main(String[] args) {
+        report("HouseMediator", new HouseMediator());
+        try (RingBufferMediator ringBufferMediator = new RingBufferMediator(1024)) {
+            report("RingBufferMediator", ringBufferMediator);
+        }
+    }
+
+    private static void report(String name, Mediator mediator) {
+        Probe sender = new Probe("Landlord");
+        Probe receiver = new Probe("Tenant");
+        mediator.register(sender);
+        mediator.register(receiver);
+        run(sender, receiver, new long[WARMUP]);
+        long[] latencies = new long[MESSAGES];
+        run(sender, receiver, latencies);
+        Arrays.sort(latencies);
+        System.out.printf("%-20s p50: %7d ns  p99: %7d ns  p99.9: %7d ns%n", name,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999));
+    }
+
+    private static void run(Probe sender, Probe receiver, long[] latencies) {
+        for (int i = 0; i < latencies.length; i++) {
+            long expected = receiver.received + 1;
+            long start = System.nanoTime();
+            sender.send("ping");
+            while (receiver.received != expected) {
+                // Yield rather than spin, the receiver may share the core on small machines.
+                Thread.yield();
+            }
+            latencies[i] = receiver.receivedAt - start;
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))];
+    }
+
+    private static class Probe extends Person {
+        private volatile long receivedAt;
+        private volatile long received;
+
+        Probe(String name) {
+            super(name);
+        }
+
+        @Override
+        protected void send(String message) {
+            mediator.notify(this, message);
+        }
+
+        @Override
+        protected void receive(String message) {
+            receivedAt = System.nanoTime();
+            received = received + 1;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package mediator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mediator that passes messages through a preallocated ring buffer, in the style of the LMAX Disruptor.
+ * Senders claim a sequence, write the slot and publish it, any number of threads may send.
+ * One consumer thread follows the sequences and delivers every message to the other participants,
+ * so sending never waits for a receiver unless the ring is full. Passing a message allocates nothing.
+ * A participant replying from receive() runs on the consumer thread, which cannot wait for its own ring;
+ * such replies are queued locally and delivered right after the message being delivered.
+ * A receiver that throws does not stop the others, its exception goes to the consumer thread's
+ * uncaught exception handler. Sending to a closed mediator throws {@link IllegalStateException}.
+ *
+ * @author agent 2026-10-18 10:10
+ */
+public class RingBufferMediator implements Mediator, AutoCloseable {
+    private static final int SPIN_TRIES = 1_000;
+    /**
+     * fills a sequence claimed after close(), the consumer skips it.
+     */
+    private static final Person SKIPPED = new Person("skipped") {
+        @Override
+        protected void send(String message) {
+        }
+
+        @Override
+        protected void receive(String message) {
+        }
+    };
+
+    private final int mask;
+    private final Person[] senders;
+    private final String[] messages;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong consumed = new AtomicLong(-1);
+    private final Thread consumer;
+    /**
+     * sender and message pairs sent from the consumer thread, only touched by that thread.
+     */
+    private final ArrayDeque<Object> replies = new ArrayDeque<>();
+    private volatile Person[] users = new Person[0];
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity must be a power of two.
+     */
+    public RingBufferMediator(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        senders = new Person[capacity];
+        messages = new String[capacity];
+        long[] empty = new long[capacity];
+        Arrays.fill(empty, -1);
+        published = new AtomicLongArray(empty);
+        consumer = new Thread(this::consume, "ring-buffer-mediator");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public synchronized void register(Person person) {
+        person.setMediator(this);
+        Person[] next = Arrays.copyOf(users, users.length + 1);
+        next[users.length] = person;
+        users = next;
+    }
+
+    /**
+     * waits only while the ring is full, spinning briefly and then parking.
+     */
+    @Override
+    public void notify(Person person, String message) {
+        if (Thread.currentThread() == consumer) {
+            replies.add(person);
+            replies.add(message);
+            return;
+        }
+        long sequence = claimed.incrementAndGet();
+        // Checked after claiming: a close() that has not been seen yet still waits for this sequence.
+        boolean open = running;
+        long wrapPoint = sequence - senders.length;
+        int idle = 0;
+        while (wrapPoint > consumed.get()) {
+            if (!consumer.isAlive()) {
+                throw new IllegalStateException("mediator is closed");
+            }
+            idle = idle(idle);
+        }
+        int index = (int) sequence & mask;
+        // A closed mediator still publishes the claimed sequence so the consumer can step over it.
+        senders[index] = open ? person : SKIPPED;
+        messages[index] = message;
+        published.set(index, sequence);
+        if (!open) {
+            throw new IllegalStateException("mediator is closed");
+        }
+    }
+
+    /**
+     * deliver the messages already sent, then stop the consumer.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        long next = 0;
+        int idle = 0;
+        while (running || next <= claimed.get()) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                idle = idle(idle);
+                continue;
+            }
+            Person sender = senders[index];
+            String message = messages[index];
+            // Drop the references before the slot is handed back, the ring should not keep them alive.
+            senders[index] = null;
+            messages[index] = null;
+            if (sender != SKIPPED) {
+                deliver(sender, message);
+            }
+            while (!replies.isEmpty()) {
+                deliver((Person) replies.poll(), (String) replies.poll());
+            }
+            consumed.set(next);
+            next++;
+            idle = 0;
+        }
+    }
+
+    private void deliver(Person sender, String message) {
+        for (Person user : users) {
+            if (user != sender) {
+                try {
+                    user.receive(message);
+                } catch (RuntimeException e) {
+                    consumer.getUncaughtExceptionHandler().uncaughtException(consumer, e);
+                }
+            }
+        }
+    }
+
+    private static int idle(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES * 2) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+        return idle + 1;
+    }
+}
@@ -1,19 +1,24 @@
 package memento;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * @author Ruobing Shang 2022-10-10 10:01
  */
 public class DatabaseMemento implements Memento {
     private final Database database;
-    private final LocalDateTime date;
+    /**
+     * epoch milliseconds, a LocalDateTime is only built when the memento is printed.
+     */
+    private final long time;
     private final int state;
 
     public DatabaseMemento(Database database, int state) {
         this.database = database;
         this.state = state;
-        this.date = LocalDateTime.now();
+        this.time = System.currentTimeMillis();
     }
 
     @Override
@@ -21,11 +26,16 @@ public class DatabaseMemento implements Memento {
         database.setState(state);
     }
 
+    @Override
+    public long getTime() {
+        return time;
+    }
+
     @Override
     public String toString() {
         return "Memento{" +
                 "database=" + database +
-                ", date=" + date +
+                ", date=" + LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()) +
                 ", history=" + state +
                 '}';
     }
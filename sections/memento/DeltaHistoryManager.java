@@ -0,0 +1,174 @@
+package memento;
+
+/**
+ * Fixed-capacity history of a {@link Database} kept in primitive rings instead of memento objects.
+ * Every entry stores the difference to the previous state and its save time in epoch milliseconds,
+ * every snapshotInterval entries a full state is stored as well, so any retained state
+ * can be rebuilt from at most snapshotInterval deltas.
+ * Undo and redo apply one delta to the current state and are O(1).
+ * Save times never decrease, so a state can be looked up by time with a binary search.
+ *
+ * @author agent 2026-10-18 10:14
+ */
+public class DeltaHistoryManager {
+    private final Database database;
+    private final int capacity;
+    private final int snapshotInterval;
+    private final EvictionPolicy policy;
+    private final int[] deltas;
+    private final long[] times;
+    private final int[] snapshots;
+
+    private long first;
+    private long last = -1;
+    private long cursor = -1;
+    private int firstState;
+    private int currentState;
+
+    public DeltaHistoryManager(Database database, int capacity, int snapshotInterval, EvictionPolicy policy) {
+        if (capacity <= 0 || snapshotInterval <= 0) {
+            throw new IllegalArgumentException("capacity and snapshotInterval must be positive");
+        }
+        this.database = database;
+        this.capacity = capacity;
+        this.snapshotInterval = snapshotInterval;
+        this.policy = policy;
+        this.deltas = new int[capacity];
+        this.times = new long[capacity];
+        this.snapshots = new int[capacity / snapshotInterval + 2];
+    }
+
+    /**
+     * save the current state of the database, the states that could be redone are discarded.
+     */
+    public void saveHistory() {
+        int state = database.getState();
+        long sequence = cursor + 1;
+        if (sequence - first >= capacity) {
+            if (policy == EvictionPolicy.REJECT) {
+                throw new IllegalStateException("history is full");
+            }
+            first++;
+            firstState += deltas[index(first)];
+        }
+        int slot = index(sequence);
+        deltas[slot] = sequence == first ? 0 : state - currentState;
+        long now = System.currentTimeMillis();
+        times[slot] = sequence == first ? now : Math.max(now, times[index(sequence - 1)]);
+        if (sequence % snapshotInterval == 0) {
+            snapshots[snapshotIndex(sequence)] = state;
+        }
+        if (sequence == first) {
+            firstState = state;
+        }
+        last = sequence;
+        cursor = sequence;
+        currentState = state;
+    }
+
+    public void undo() {
+        if (cursor <= first) {
+            System.out.println("HistoryManager doesn't has history.");
+            return;
+        }
+        currentState -= deltas[index(cursor)];
+        cursor--;
+        database.setState(currentState);
+    }
+
+    public void redo() {
+        if (cursor >= last) {
+            System.out.println("HistoryManager doesn't has anything to redo.");
+            return;
+        }
+        cursor++;
+        currentState += deltas[index(cursor)];
+        database.setState(currentState);
+    }
+
+    /**
+     * the state saved with the given sequence, rebuilt from the nearest full snapshot.
+     */
+    public int stateAt(long sequence) {
+        if (sequence < first || sequence > last) {
+            throw new IndexOutOfBoundsException("sequence " + sequence + " is not retained");
+        }
+        long base = sequence - sequence % snapshotInterval;
+        int state;
+        if (base > first) {
+            state = snapshots[snapshotIndex(base)];
+        } else {
+            base = first;
+            state = firstState;
+        }
+        for (long i = base + 1; i <= sequence; i++) {
+            state += deltas[index(i)];
+        }
+        return state;
+    }
+
+    public long timeAt(long sequence) {
+        if (sequence < first || sequence > last) {
+            throw new IndexOutOfBoundsException("sequence " + sequence + " is not retained");
+        }
+        return times[index(sequence)];
+    }
+
+    /**
+     * @return the last sequence saved at or before the time, first - 1 if there is none.
+     */
+    public long floorSequence(long epochMillis) {
+        return TimeIndex.floor(first, last + 1, epochMillis, this::timeAt);
+    }
+
+    /**
+     * @return the first sequence saved at or after the time, last + 1 if there is none.
+     */
+    public long ceilingSequence(long epochMillis) {
+        return TimeIndex.ceiling(first, last + 1, epochMillis, this::timeAt);
+    }
+
+    /**
+     * move to the state as of the given time, it can be redone and undone from there.
+     */
+    public void restoreAt(long epochMillis) {
+        long sequence = floorSequence(epochMillis);
+        if (sequence < first) {
+            System.out.println("HistoryManager doesn't has history at that time.");
+            return;
+        }
+        currentState = stateAt(sequence);
+        cursor = sequence;
+        database.setState(currentState);
+    }
+
+    public long getFirstSequence() {
+        return first;
+    }
+
+    public long getLastSequence() {
+        return last;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public int size() {
+        return (int) (last - first + 1);
+    }
+
+    public void showHistory() {
+        for (long i = first; i <= cursor; i++) {
+            System.out.println("Memento{state=" + stateAt(i) + ", time=" + timeAt(i) + '}');
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private int snapshotIndex(long sequence) {
+        return (int) (sequence / snapshotInterval % snapshots.length);
+    }
+}
@@ -0,0 +1,17 @@
+package memento;
+
+/**
+ * What a bounded history does when it is full and a new state is saved.
+ *
+ * @author agent 2026-10-18 10:14
+ */
+public enum EvictionPolicy {
+    /**
+     * forget the oldest state.
+     */
+    DROP_OLDEST,
+    /**
+     * refuse the new state with an {@link IllegalStateException}.
+     */
+    REJECT
+}
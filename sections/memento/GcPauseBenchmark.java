@@ -0,0 +1,70 @@
+package memento;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * GC time spent on the same allocation churn while a large history is alive,
+ * once with {@link HistoryManager} and once with {@link OffHeapHistoryManager}.
+ * Run the heap-based mode and the off-heap mode in separate JVMs, e.g. with -Xmx4g:
+ * {@code java memento.GcPauseBenchmark heap 10000000} and {@code java memento.GcPauseBenchmark offheap 10000000}.
+ *
+ * @author agent 2026-10-18 10:15
+ */
+public class GcPauseBenchmark {
+    private static final int CHURN_ROUNDS = 2_000;
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "offheap";
+        int entries = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        Database database = new Database();
+        Object history;
+        if ("heap".equals(mode)) {
+            HistoryManager historyManager = new HistoryManager();
+            for (int i = 0; i < entries; i++) {
+                database.setState(i);
+                historyManager.saveHistory(database.save());
+            }
+            history = historyManager;
+        } else {
+            OffHeapHistoryManager historyManager = new OffHeapHistoryManager(database);
+            for (int i = 0; i < entries; i++) {
+                database.setState(i);
+                historyManager.saveHistory();
+            }
+            history = historyManager;
+        }
+        System.gc();
+
+        long collections = collections();
+        long collectionMillis = collectionMillis();
+        long maxPause = 0;
+        for (int round = 0; round < CHURN_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) {
+                sink = new byte[1024];
+            }
+            maxPause = Math.max(maxPause, System.nanoTime() - start);
+        }
+        System.out.printf("%-8s %,d entries: %d collections, %d ms in GC, slowest churn round %.2f ms%n",
+                mode, entries, collections() - collections, collectionMillis() - collectionMillis, maxPause / 1e6);
+        sink = history;
+    }
+
+    private static long collections() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+        }
+        return count;
+    }
+
+    private static long collectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += bean.getCollectionTime();
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,42 @@
+package memento;
+
+/**
+ * Heap bytes per history entry of {@link HistoryManager} and {@link DeltaHistoryManager}.
+ *
+ * @author agent 2026-10-18 10:14
+ */
+public class HistoryFootprintBenchmark {
+    private static final int ENTRIES = 1_000_000;
+
+    public static void main(String[] args) {
+        Database database = new Database();
+
+        long before = usedMemory();
+        HistoryManager historyManager = new HistoryManager();
+        for (int i = 0; i < ENTRIES; i++) {
+            database.setState(i);
+            historyManager.saveHistory(database.save());
+        }
+        long heapBased = usedMemory() - before;
+        System.out.printf("HistoryManager      : %6.1f bytes/entry%n", (double) heapBased / ENTRIES);
+        historyManager = null;
+
+        before = usedMemory();
+        DeltaHistoryManager deltaHistoryManager = new DeltaHistoryManager(database, ENTRIES, 64, EvictionPolicy.DROP_OLDEST);
+        for (int i = 0; i < ENTRIES; i++) {
+            database.setState(i);
+            deltaHistoryManager.saveHistory();
+        }
+        long deltaBased = usedMemory() - before;
+        System.out.printf("DeltaHistoryManager : %6.1f bytes/entry%n", (double) deltaBased / ENTRIES);
+        System.out.println(deltaHistoryManager.size() + " entries retained");
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,15 +1,21 @@
 package memento;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Ruobing Shang 2022-10-10 10:03
  */
 public class HistoryManager {
     private final ArrayList<Memento> history = new ArrayList<>();
+    private final TimeIndex times = new TimeIndex();
 
+    /**
+     * the memento is indexed by the time it was captured, or by the latest time indexed if that is later.
+     */
     public void saveHistory(Memento memento) {
         history.add(memento);
+        times.append(memento.getTime());
     }
 
     public void showHistory() {
@@ -26,5 +32,27 @@ public class HistoryManager {
         int index = history.size() - 1;
         history.get(index - 1).restore();
         history.remove(index);
+        times.removeLast();
+    }
+
+    /**
+     * restore the state as of the given time with a binary search, the history is kept.
+     */
+    public void restoreAt(long epochMillis) {
+        int index = times.floor(epochMillis);
+        if (index < 0) {
+            System.out.println("HistoryManager doesn't has history at that time.");
+            return;
+        }
+        history.get(index).restore();
+    }
+
+    /**
+     * a copy of the mementos saved between the two times, both inclusive.
+     */
+    public List<Memento> between(long fromEpochMillis, long toEpochMillis) {
+        int from = times.ceiling(fromEpochMillis);
+        int to = times.floor(toEpochMillis) + 1;
+        return from >= to ? List.of() : List.copyOf(history.subList(from, to));
     }
 }
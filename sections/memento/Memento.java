@@ -5,4 +5,11 @@ package memento;
  */
 public interface Memento {
     void restore();
+
+    /**
+     * epoch milliseconds the state was captured at, a memento that does not record it is stamped when asked.
+     */
+    default long getTime() {
+        return System.currentTimeMillis();
+    }
 }
@@ -0,0 +1,210 @@
+package memento;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * History of a {@link Database} stored outside the Java heap, so millions of entries add nothing
+ * for the garbage collector to trace. Entries are fixed-size records (state and epoch milliseconds)
+ * addressed by sequence number, in direct buffers or in a memory-mapped file that survives restarts.
+ * Storage grows in chunks that start small and double, so a short history only reserves a few kilobytes.
+ * Mementos are only materialized when they are asked for.
+ * Save times never decrease, so entries can be looked up by time with a binary search.
+ *
+ * @author agent 2026-10-18 10:15
+ */
+public class OffHeapHistoryManager implements AutoCloseable {
+    private static final int RECORD_SIZE = 12;
+    /**
+     * chunks double from 1K records (12 KB) up to 4M records (48 MB), later chunks all have the largest size.
+     */
+    private static final int FIRST_CHUNK_SHIFT = 10;
+    private static final int LAST_CHUNK_SHIFT = 22;
+    private static final int GROWING_CHUNKS = LAST_CHUNK_SHIFT - FIRST_CHUNK_SHIFT;
+    private static final long GROWING_RECORDS = (1L << LAST_CHUNK_SHIFT) - (1L << FIRST_CHUNK_SHIFT);
+    private static final int HEADER_SIZE = 16;
+    private static final long MAGIC = 0x4d454d454e544f31L;
+
+    private final Database database;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private long size;
+
+    /**
+     * keep the history in direct memory, it is gone with the process.
+     */
+    public OffHeapHistoryManager(Database database) {
+        this.database = database;
+        this.channel = null;
+        this.header = null;
+    }
+
+    /**
+     * keep the history in a memory-mapped file, an existing file is continued.
+     */
+    public OffHeapHistoryManager(Database database, Path path) throws IOException {
+        this.database = database;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean created = channel.size() == 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (created) {
+            header.putLong(0, MAGIC);
+            header.putLong(8, 0);
+        } else if (header.getLong(0) != MAGIC) {
+            channel.close();
+            throw new IOException("not a memento history: " + path);
+        }
+        long saved = header.getLong(8);
+        while (chunkStart(chunks.length) < saved) {
+            addChunk();
+        }
+        size = saved;
+    }
+
+    public void saveHistory() {
+        int chunk = chunkOf(size);
+        if (chunk == chunks.length) {
+            addChunk();
+        }
+        int offset = offset(size, chunk);
+        chunks[chunk].putInt(offset, database.getState());
+        long now = System.currentTimeMillis();
+        chunks[chunk].putLong(offset + 4, size == 0 ? now : Math.max(now, timeAt(size - 1)));
+        size++;
+        if (header != null) {
+            header.putLong(8, size);
+        }
+    }
+
+    /**
+     * restore the previous entry and drop the last one, like {@link HistoryManager#undo()}.
+     */
+    public void undo() {
+        if (size <= 1) {
+            System.out.println("HistoryManager doesn't has history.");
+            return;
+        }
+        restore(size - 2);
+        size--;
+        if (header != null) {
+            header.putLong(8, size);
+        }
+    }
+
+    public void restore(long sequence) {
+        database.setState(stateAt(sequence));
+    }
+
+    /**
+     * a memento that reads its entry only when it is restored.
+     */
+    public Memento get(long sequence) {
+        checkSequence(sequence);
+        return () -> restore(sequence);
+    }
+
+    public int stateAt(long sequence) {
+        checkSequence(sequence);
+        int chunk = chunkOf(sequence);
+        return chunks[chunk].getInt(offset(sequence, chunk));
+    }
+
+    public long timeAt(long sequence) {
+        checkSequence(sequence);
+        int chunk = chunkOf(sequence);
+        return chunks[chunk].getLong(offset(sequence, chunk) + 4);
+    }
+
+    /**
+     * @return the last sequence saved at or before the time, -1 if there is none.
+     */
+    public long floorSequence(long epochMillis) {
+        return TimeIndex.floor(0, size, epochMillis, this::timeAt);
+    }
+
+    /**
+     * @return the first sequence saved at or after the time, size() if there is none.
+     */
+    public long ceilingSequence(long epochMillis) {
+        return TimeIndex.ceiling(0, size, epochMillis, this::timeAt);
+    }
+
+    /**
+     * restore the state as of the given time, the history is kept.
+     */
+    public void restoreAt(long epochMillis) {
+        long sequence = floorSequence(epochMillis);
+        if (sequence < 0) {
+            System.out.println("HistoryManager doesn't has history at that time.");
+            return;
+        }
+        restore(sequence);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * flush a file-backed history to disk.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            for (ByteBuffer chunk : chunks) {
+                ((MappedByteBuffer) chunk).force();
+            }
+            header.force();
+            channel.close();
+        }
+    }
+
+    private void checkSequence(long sequence) {
+        if (sequence < 0 || sequence >= size) {
+            throw new IndexOutOfBoundsException("sequence " + sequence + " is not in history");
+        }
+    }
+
+    private static int chunkOf(long sequence) {
+        if (sequence < GROWING_RECORDS) {
+            return 63 - Long.numberOfLeadingZeros((sequence >>> FIRST_CHUNK_SHIFT) + 1);
+        }
+        return GROWING_CHUNKS + (int) ((sequence - GROWING_RECORDS) >>> LAST_CHUNK_SHIFT);
+    }
+
+    private static long chunkStart(int chunk) {
+        if (chunk < GROWING_CHUNKS) {
+            return ((1L << chunk) - 1) << FIRST_CHUNK_SHIFT;
+        }
+        return GROWING_RECORDS + ((long) (chunk - GROWING_CHUNKS) << LAST_CHUNK_SHIFT);
+    }
+
+    private static int offset(long sequence, int chunk) {
+        return (int) (sequence - chunkStart(chunk)) * RECORD_SIZE;
+    }
+
+    private void addChunk() {
+        int index = chunks.length;
+        int bytes = (1 << Math.min(FIRST_CHUNK_SHIFT + index, LAST_CHUNK_SHIFT)) * RECORD_SIZE;
+        ByteBuffer chunk;
+        if (channel == null) {
+            chunk = ByteBuffer.allocateDirect(bytes);
+        } else {
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + chunkStart(index) * RECORD_SIZE, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        ByteBuffer[] next = new ByteBuffer[chunks.length + 1];
+        System.arraycopy(chunks, 0, next, 0, chunks.length);
+        next[chunks.length] = chunk;
+        chunks = next;
+    }
+}
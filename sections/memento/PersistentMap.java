@@ -0,0 +1,329 @@
+package memento;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash array mapped trie. Every update returns a new map that shares all unchanged nodes
+ * with the old one, so keeping an old version costs nothing and an update copies only the path
+ * from the root to the changed entry, at most seven small nodes.
+ *
+ * @author agent 2026-10-18 10:18
+ */
+public final class PersistentMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+
+    private final BitmapNode root;
+    private final int size;
+
+    private PersistentMap(BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Leaf leaf = root.find(0, hash(key), key);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    public boolean containsKey(K key) {
+        return root.find(0, hash(key), key) != null;
+    }
+
+    public PersistentMap<K, V> put(K key, V value) {
+        Leaf leaf = new Leaf(hash(key), key, value);
+        boolean[] added = new boolean[1];
+        BitmapNode updated = root.put(0, leaf, added);
+        return updated == root ? this : new PersistentMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    public PersistentMap<K, V> remove(K key) {
+        Object updated = root.remove(0, hash(key), key);
+        if (updated == root) {
+            return this;
+        }
+        if (updated == null) {
+            return empty();
+        }
+        BitmapNode node = updated instanceof Leaf ? BitmapNode.of(0, (Leaf) updated) : (BitmapNode) updated;
+        return new PersistentMap<>(node, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static final class Leaf {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        private Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private abstract static class Node {
+        abstract Leaf find(int shift, int hash, Object key);
+
+        abstract Node put(int shift, Leaf leaf, boolean[] added);
+
+        /**
+         * @return this if nothing changed, null if the node became empty,
+         * a single {@link Leaf} for the parent to inline, or the new node.
+         */
+        abstract Object remove(int shift, int hash, Object key);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Up to 32 slots, a bit per present slot; slots hold a {@link Leaf} or a child {@link Node}.
+     */
+    private static final class BitmapNode extends Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        static BitmapNode of(int shift, Leaf leaf) {
+            return new BitmapNode(bit(leaf.hash, shift), new Object[]{leaf});
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Leaf find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                return leaf.hash == hash && Objects.equals(leaf.key, key) ? leaf : null;
+            }
+            return ((Node) slot).find(shift + BITS, hash, key);
+        }
+
+        @Override
+        BitmapNode put(int shift, Leaf leaf, boolean[] added) {
+            int bit = bit(leaf.hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] next = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, next, 0, index);
+                next[index] = leaf;
+                System.arraycopy(slots, index, next, index + 1, slots.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, next);
+            }
+            Object slot = slots[index];
+            Object replacement;
+            if (slot instanceof Leaf) {
+                Leaf existing = (Leaf) slot;
+                if (existing.hash == leaf.hash && Objects.equals(existing.key, leaf.key)) {
+                    if (existing.value == leaf.value) {
+                        return this;
+                    }
+                    replacement = leaf;
+                } else {
+                    added[0] = true;
+                    replacement = merge(shift + BITS, existing, leaf);
+                }
+            } else {
+                Node child = (Node) slot;
+                replacement = child.put(shift + BITS, leaf, added);
+                if (replacement == child) {
+                    return this;
+                }
+            }
+            Object[] next = slots.clone();
+            next[index] = replacement;
+            return new BitmapNode(bitmap, next);
+        }
+
+        @Override
+        Object remove(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object slot = slots[index];
+            Object replacement;
+            if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                if (leaf.hash != hash || !Objects.equals(leaf.key, key)) {
+                    return this;
+                }
+                replacement = null;
+            } else {
+                replacement = ((Node) slot).remove(shift + BITS, hash, key);
+                if (replacement == slot) {
+                    return this;
+                }
+            }
+            if (replacement != null) {
+                Object[] next = slots.clone();
+                next[index] = replacement;
+                return new BitmapNode(bitmap, next);
+            }
+            if (slots.length == 1) {
+                return null;
+            }
+            if (slots.length == 2 && slots[1 - index] instanceof Leaf) {
+                return slots[1 - index];
+            }
+            Object[] next = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, next, 0, index);
+            System.arraycopy(slots, index + 1, next, index, slots.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, next);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (Object slot : slots) {
+                if (slot instanceof Leaf) {
+                    action.accept(((Leaf) slot).key, ((Leaf) slot).value);
+                } else {
+                    ((Node) slot).forEach(action);
+                }
+            }
+        }
+
+        private static Node merge(int shift, Leaf first, Leaf second) {
+            if (first.hash == second.hash) {
+                return new CollisionNode(first.hash, new Leaf[]{first, second});
+            }
+            int firstBit = bit(first.hash, shift);
+            int secondBit = bit(second.hash, shift);
+            if (firstBit == secondBit) {
+                return new BitmapNode(firstBit, new Object[]{merge(shift + BITS, first, second)});
+            }
+            Object[] slots = Integer.compareUnsigned(firstBit, secondBit) < 0
+                    ? new Object[]{first, second} : new Object[]{second, first};
+            return new BitmapNode(firstBit | secondBit, slots);
+        }
+    }
+
+    /**
+     * Keys whose whole hash is equal.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        private CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].key, key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Leaf find(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : leaves[index];
+        }
+
+        @Override
+        Node put(int shift, Leaf leaf, boolean[] added) {
+            if (leaf.hash != hash) {
+                added[0] = true;
+                return split(shift, leaf);
+            }
+            int index = indexOf(leaf.key);
+            if (index >= 0) {
+                if (leaves[index].value == leaf.value) {
+                    return this;
+                }
+                Leaf[] next = leaves.clone();
+                next[index] = leaf;
+                return new CollisionNode(hash, next);
+            }
+            Leaf[] next = Arrays.copyOf(leaves, leaves.length + 1);
+            next[leaves.length] = leaf;
+            added[0] = true;
+            return new CollisionNode(hash, next);
+        }
+
+        /**
+         * a bitmap node holding this node and a leaf of another hash that shares the path so far.
+         */
+        private Node split(int shift, Leaf leaf) {
+            int ownBit = bit(hash, shift);
+            int leafBit = bit(leaf.hash, shift);
+            if (ownBit == leafBit) {
+                return new BitmapNode(ownBit, new Object[]{split(shift + BITS, leaf)});
+            }
+            Object[] slots = Integer.compareUnsigned(ownBit, leafBit) < 0
+                    ? new Object[]{this, leaf} : new Object[]{leaf, this};
+            return new BitmapNode(ownBit | leafBit, slots);
+        }
+
+        @Override
+        Object remove(int shift, int hash, Object key) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (leaves.length == 2) {
+                return leaves[1 - index];
+            }
+            Leaf[] next = new Leaf[leaves.length - 1];
+            System.arraycopy(leaves, 0, next, 0, index);
+            System.arraycopy(leaves, index + 1, next, index, leaves.length - index - 1);
+            return new CollisionNode(hash, next);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (Leaf leaf : leaves) {
+                action.accept(leaf.key, leaf.value);
+            }
+        }
+    }
+}
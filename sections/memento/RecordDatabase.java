@@ -0,0 +1,49 @@
+package memento;
+
+/**
+ * A database of key/value records. The records live in a {@link PersistentMap},
+ * so save() only keeps a reference to the current version and costs O(1),
+ * the versions share everything except the paths that were modified in between.
+ *
+ * @author agent 2026-10-18 10:18
+ */
+public class RecordDatabase implements Originator {
+    private PersistentMap<String, String> records = PersistentMap.empty();
+
+    @Override
+    public Memento save() {
+        return new RecordMemento(this, records);
+    }
+
+    public void put(String key, String value) {
+        records = records.put(key, value);
+    }
+
+    public void remove(String key) {
+        records = records.remove(key);
+    }
+
+    public String get(String key) {
+        return records.get(key);
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    void setRecords(PersistentMap<String, String> records) {
+        this.records = records;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("RecordDatabase{");
+        records.forEach((key, value) -> {
+            if (builder.length() > "RecordDatabase{".length()) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+}
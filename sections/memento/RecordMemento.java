@@ -0,0 +1,34 @@
+package memento;
+
+/**
+ * @author agent 2026-10-18 10:18
+ */
+public class RecordMemento implements Memento {
+    private final RecordDatabase database;
+    private final PersistentMap<String, String> records;
+    private final long time;
+
+    public RecordMemento(RecordDatabase database, PersistentMap<String, String> records) {
+        this.database = database;
+        this.records = records;
+        this.time = System.currentTimeMillis();
+    }
+
+    @Override
+    public void restore() {
+        database.setRecords(records);
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "Memento{" +
+                "records=" + records.size() +
+                ", time=" + time +
+                '}';
+    }
+}
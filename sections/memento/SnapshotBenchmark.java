@@ -0,0 +1,73 @@
+package memento;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Cost of one modification plus one snapshot as the state grows,
+ * for {@link RecordDatabase} and for a full HashMap copy per snapshot.
+ *
+ * @author agent 2026-10-18 10:18
+ */
+public class SnapshotBenchmark {
+    private static final int SNAPSHOTS = 1_000;
+
+    public static void main(String[] args) {
+        for (int size : new int[]{1_000, 10_000, 100_000, 1_000_000}) {
+            RecordDatabase database = new RecordDatabase();
+            HashMap<String, String> map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                database.put("key" + i, "value" + i);
+                map.put("key" + i, "value" + i);
+            }
+            int snapshots = size >= 1_000_000 ? SNAPSHOTS / 10 : SNAPSHOTS;
+            measurePersistent(database, size, snapshots);
+            measureCopy(map, size, snapshots / 10);
+
+            long before = usedMemory();
+            List<Memento> history = new ArrayList<>(snapshots);
+            double persistent = measurePersistent(database, size, snapshots, history);
+            double bytes = (double) (usedMemory() - before) / snapshots;
+            double copy = measureCopy(map, size, Math.max(1, snapshots / 10));
+            System.out.printf("%,10d records  persistent: %9.2f us, %8.0f bytes/snapshot  full copy: %11.2f us%n",
+                    size, persistent, bytes, copy);
+            history.clear();
+        }
+    }
+
+    private static double measurePersistent(RecordDatabase database, int size, int snapshots) {
+        return measurePersistent(database, size, snapshots, new ArrayList<>());
+    }
+
+    private static double measurePersistent(RecordDatabase database, int size, int snapshots, List<Memento> history) {
+        long start = System.nanoTime();
+        for (int i = 0; i < snapshots; i++) {
+            database.put("key" + i % size, "changed" + i);
+            history.add(database.save());
+        }
+        return (System.nanoTime() - start) / 1e3 / snapshots;
+    }
+
+    private static double measureCopy(HashMap<String, String> map, int size, int snapshots) {
+        List<HashMap<String, String>> history = new ArrayList<>(snapshots);
+        long start = System.nanoTime();
+        for (int i = 0; i < snapshots; i++) {
+            map.put("key" + i % size, "changed" + i);
+            history.add(new HashMap<>(map));
+            // Only the last copies are kept, a million-record copy per snapshot would not fit in the heap.
+            if (history.size() > 2) {
+                history.remove(0);
+            }
+        }
+        return (System.nanoTime() - start) / 1e3 / snapshots;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
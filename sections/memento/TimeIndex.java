@@ -0,0 +1,87 @@
+package memento;
+
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Save times of a history as a growable array of epoch milliseconds.
+ * Times are kept non-decreasing even if the wall clock goes back, so they can be binary searched.
+ *
+ * @author agent 2026-10-18 10:16
+ */
+public class TimeIndex {
+    private long[] times = new long[16];
+    private int size;
+
+    /**
+     * @return the time actually recorded.
+     */
+    public long append(long epochMillis) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+        }
+        long time = size == 0 ? epochMillis : Math.max(epochMillis, times[size - 1]);
+        times[size++] = time;
+        return time;
+    }
+
+    public void removeLast() {
+        if (size > 0) {
+            size--;
+        }
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of " + size);
+        }
+        return times[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the index of the last entry saved at or before the time, -1 if there is none.
+     */
+    public int floor(long epochMillis) {
+        return (int) floor(0, size, epochMillis, index -> times[(int) index]);
+    }
+
+    /**
+     * @return the index of the first entry saved at or after the time, size() if there is none.
+     */
+    public int ceiling(long epochMillis) {
+        return (int) ceiling(0, size, epochMillis, index -> times[(int) index]);
+    }
+
+    /**
+     * binary search over any non-decreasing times addressed by index, shared by the history managers.
+     *
+     * @return the last index in [from, to) saved at or before the time, from - 1 if there is none.
+     */
+    static long floor(long from, long to, long epochMillis, LongUnaryOperator timeAt) {
+        if (epochMillis == Long.MAX_VALUE) {
+            return to - 1;
+        }
+        return ceiling(from, to, epochMillis + 1, timeAt) - 1;
+    }
+
+    /**
+     * @return the first index in [from, to) saved at or after the time, to if there is none.
+     */
+    static long ceiling(long from, long to, long epochMillis, LongUnaryOperator timeAt) {
+        long low = from;
+        long high = to;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (timeAt.applyAsLong(middle) < epochMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
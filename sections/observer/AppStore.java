@@ -8,4 +8,9 @@ public class AppStore extends Publisher {
         System.out.println(context);
         notifySubscribers(context);
     }
+
+    public void publish(String category, String context) {
+        System.out.println(category + ": " + context);
+        notifySubscribers(category, context);
+    }
 }
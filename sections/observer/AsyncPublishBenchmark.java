@@ -0,0 +1,59 @@
+package observer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publish latency of {@link AppStore} when one of its customers is slow,
+ * with synchronous delivery and with {@link AsyncSubscriber}.
+ *
+ * @author agent 2026-10-18 10:01
+ */
+public class AsyncPublishBenchmark {
+    private static final int PUBLISHES = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        Subscriber slow = context -> sleep(5);
+        Subscriber fast = context -> {
+        };
+
+        AppStore syncStore = new QuietAppStore();
+        syncStore.subscribe(slow);
+        syncStore.subscribe(fast);
+        System.out.printf("sync        : %8.1f us/publish%n", measure(syncStore));
+
+        ExecutorService pool = Executors.newCachedThreadPool();
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            AppStore asyncStore = new QuietAppStore();
+            AsyncSubscriber slowHandle = asyncStore.subscribeAsync(slow, pool, 64, policy);
+            asyncStore.subscribeAsync(fast, pool, 64, policy);
+            System.out.printf("async %-11s: %8.1f us/publish, dropped %d%n",
+                    policy, measure(asyncStore), slowHandle.getDropped());
+            asyncStore.unsubscribe(slowHandle);
+        }
+        pool.shutdownNow();
+    }
+
+    private static double measure(AppStore appStore) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PUBLISHES; i++) {
+            appStore.publish("app " + i);
+        }
+        return (System.nanoTime() - start) / 1e3 / PUBLISHES;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class QuietAppStore extends AppStore {
+        @Override
+        public void publish(String context) {
+            notifySubscribers(context);
+        }
+    }
+}
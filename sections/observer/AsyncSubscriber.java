@@ -0,0 +1,181 @@
+package observer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to a subscriber on an executor instead of the publishing thread.
+ * Every AsyncSubscriber owns a bounded queue, so a slow subscriber only delays itself.
+ * It is also the {@link Flow.Subscription} handed to a {@link Flow.Subscriber},
+ * events are delivered only as far as the subscriber has requested them. Null events are queued and
+ * delivered as null, {@link Publisher} allows them.
+ *
+ * @author agent 2026-10-18 10:01
+ */
+public class AsyncSubscriber implements Subscriber, Flow.Subscription {
+    /**
+     * stands for a null event in the queue, which does not take nulls.
+     */
+    private static final Object NULL = new Object();
+
+    private final Flow.Subscriber<? super Object> target;
+    private final Executor executor;
+    private final OverflowPolicy policy;
+    private final ArrayBlockingQueue<Object> queue;
+    private final Runnable onCancel;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    AsyncSubscriber(Flow.Subscriber<? super Object> target, Executor executor, int capacity,
+                    OverflowPolicy policy, Runnable onCancel) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.target = target;
+        this.executor = executor;
+        this.policy = policy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.onCancel = onCancel;
+    }
+
+    static AsyncSubscriber of(Subscriber subscriber, Executor executor, int capacity,
+                              OverflowPolicy policy, Runnable onCancel) {
+        AsyncSubscriber asyncSubscriber = new AsyncSubscriber(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                subscriber.update(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // The subscriber threw and has been unsubscribed, leave the reporting to the executor.
+                if (throwable instanceof RuntimeException) {
+                    throw (RuntimeException) throwable;
+                }
+                if (throwable instanceof Error) {
+                    throw (Error) throwable;
+                }
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        }, executor, capacity, policy, onCancel);
+        asyncSubscriber.start();
+        return asyncSubscriber;
+    }
+
+    void start() {
+        target.onSubscribe(this);
+    }
+
+    /**
+     * Called on the publishing thread, only blocks with {@link OverflowPolicy#BLOCK}.
+     */
+    @Override
+    public void update(Object context) {
+        if (cancelled) {
+            return;
+        }
+        Object item = context == null ? NULL : context;
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queue.put(item);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(item)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(item)) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+        }
+        schedule();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            cancel();
+            target.onError(new IllegalArgumentException("non-positive request: " + n));
+            return;
+        }
+        demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            queue.clear();
+            onCancel.run();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * At most one drain runs at a time, which keeps events in publish order.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            long requested = demand.get();
+            long delivered = 0;
+            while (delivered != requested && !cancelled) {
+                Object item = queue.poll();
+                if (item == null) {
+                    break;
+                }
+                try {
+                    target.onNext(item == NULL ? null : item);
+                } catch (Throwable throwable) {
+                    cancel();
+                    target.onError(throwable);
+                    return;
+                }
+                delivered++;
+            }
+            if (delivered != 0 && requested != Long.MAX_VALUE) {
+                demand.addAndGet(-delivered);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,21 @@
+package observer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A subscriber that takes the events of a batching {@link Publisher} in one call.
+ *
+ * @author agent 2026-10-18 10:03
+ */
+public interface BatchSubscriber extends Subscriber {
+    /**
+     * @param contexts the events of one window in publish order, the list is read only.
+     */
+    void updateBatch(List<Object> contexts);
+
+    @Override
+    default void update(Object context) {
+        updateBatch(Collections.singletonList(context));
+    }
+}
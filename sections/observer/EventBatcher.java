@@ -0,0 +1,130 @@
+package observer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Gathers events until a window closes, either when it holds maxEvents events or when the window time
+ * has passed since its first event, then hands the whole window to the flusher.
+ * With a key function, events of the same key are collapsed and only the latest value is kept,
+ * at the position of the first one.
+ *
+ * @author agent 2026-10-18 10:03
+ */
+public class EventBatcher {
+    private final int maxEvents;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Function<Object, ?> keyOf;
+    private final Consumer<List<Object>> flusher;
+    private final Object flushLock = new Object();
+
+    private List<Object> events = new ArrayList<>();
+    private LinkedHashMap<Object, Object> latest = new LinkedHashMap<>();
+    private long generation;
+    private boolean closed;
+
+    /**
+     * @param window    0 to close windows by count only, then scheduler may be null.
+     * @param keyOf     null to keep every event.
+     */
+    public EventBatcher(int maxEvents, long window, TimeUnit unit, ScheduledExecutorService scheduler,
+                        Function<Object, ?> keyOf, Consumer<List<Object>> flusher) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be positive: " + maxEvents);
+        }
+        if (window > 0 && scheduler == null) {
+            throw new IllegalArgumentException("a time window needs a scheduler");
+        }
+        this.maxEvents = maxEvents;
+        this.windowNanos = unit.toNanos(window);
+        this.scheduler = scheduler;
+        this.keyOf = keyOf;
+        this.flusher = flusher;
+    }
+
+    /**
+     * @return false if the batcher is closed, the caller has to deliver the event itself.
+     */
+    public boolean add(Object context) {
+        boolean full;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            int size;
+            if (keyOf == null) {
+                events.add(context);
+                size = events.size();
+            } else {
+                latest.put(keyOf.apply(context), context);
+                size = latest.size();
+            }
+            full = size >= maxEvents;
+            if (size == 1 && !full && windowNanos > 0) {
+                long current = generation;
+                scheduler.schedule(() -> flush(current), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * refuse further events and deliver the pending window, every event accepted before is delivered.
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+    /**
+     * close the current window now, windows are delivered one at a time and in order.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<Object> batch = take();
+            if (!batch.isEmpty()) {
+                flusher.accept(batch);
+            }
+        }
+    }
+
+    private void flush(long expectedGeneration) {
+        synchronized (flushLock) {
+            List<Object> batch;
+            synchronized (this) {
+                if (generation != expectedGeneration) {
+                    return;
+                }
+                batch = take();
+            }
+            if (!batch.isEmpty()) {
+                flusher.accept(batch);
+            }
+        }
+    }
+
+    private synchronized List<Object> take() {
+        List<Object> batch;
+        if (keyOf == null) {
+            batch = events;
+            events = new ArrayList<>();
+        } else {
+            batch = new ArrayList<>(latest.values());
+            latest = new LinkedHashMap<>();
+        }
+        generation++;
+        return Collections.unmodifiableList(batch);
+    }
+}
@@ -0,0 +1,111 @@
+package observer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the latest published events, preallocated so that recording does not allocate.
+ * Every event gets a sequence number starting from 0, the ring keeps the last capacity of them.
+ * Recording and replaying take no lock, each slot carries the sequence of the event it holds
+ * and a reader only accepts an event whose sequence did not change while it was read.
+ *
+ * @author agent 2026-10-18 10:04
+ */
+public class EventHistory {
+    private static final long EMPTY = -1;
+    private static final long WRITING = -2;
+
+    private final int mask;
+    private final AtomicReferenceArray<Object> events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two.
+     */
+    public EventHistory(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (capacity == 1) {
+            size = 1;
+        }
+        this.mask = size - 1;
+        this.events = new AtomicReferenceArray<>(size);
+        long[] empty = new long[size];
+        Arrays.fill(empty, EMPTY);
+        this.sequences = new AtomicLongArray(empty);
+    }
+
+    public long record(Object context) {
+        long sequence = next.getAndIncrement();
+        int index = (int) sequence & mask;
+        while (true) {
+            long current = sequences.get(index);
+            if (current >= sequence) {
+                // A writer a whole ring ahead already took the slot, this event is out of history anyway.
+                return sequence;
+            }
+            if (current != WRITING && sequences.compareAndSet(index, current, WRITING)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        events.set(index, context);
+        sequences.set(index, sequence);
+        return sequence;
+    }
+
+    /**
+     * @return the sequence the next event will get.
+     */
+    public long nextSequence() {
+        return next.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * replay the last n events that are still retained.
+     *
+     * @return the sequence to continue from.
+     */
+    public long replayLast(int n, Subscriber subscriber) {
+        return replaySince(nextSequence() - n, subscriber);
+    }
+
+    /**
+     * replay the retained events whose sequence is at least the given one,
+     * events that have already been overwritten are skipped.
+     *
+     * @return the sequence to continue from.
+     */
+    public long replaySince(long sequence, Subscriber subscriber) {
+        long end = nextSequence();
+        long start = Math.max(Math.max(sequence, 0), end - capacity());
+        for (long wanted = start; wanted < end; wanted++) {
+            int index = (int) wanted & mask;
+            while (true) {
+                long before = sequences.get(index);
+                if (before > wanted) {
+                    break;
+                }
+                if (before == wanted) {
+                    Object context = events.get(index);
+                    if (sequences.get(index) == wanted) {
+                        subscriber.update(context);
+                    }
+                    break;
+                }
+                // The sequence is taken but its writer has not finished yet.
+                Thread.onSpinWait();
+            }
+        }
+        return end;
+    }
+}
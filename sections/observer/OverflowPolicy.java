@@ -0,0 +1,21 @@
+package observer;
+
+/**
+ * What an {@link AsyncSubscriber} does when its queue is full.
+ *
+ * @author agent 2026-10-18 10:01
+ */
+public enum OverflowPolicy {
+    /**
+     * the publisher waits until the subscriber catches up.
+     */
+    BLOCK,
+    /**
+     * the oldest queued event is discarded to make room.
+     */
+    DROP_OLDEST,
+    /**
+     * the event being published is discarded.
+     */
+    DROP_NEWEST
+}
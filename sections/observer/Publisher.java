@@ -1,24 +1,181 @@
 package observer;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * @author Ruobing Shang 2022-10-11 9:02
  */
-public abstract class Publisher {
-    private final ArrayList<Subscriber> subscribers = new ArrayList<>();
+public abstract class Publisher implements Flow.Publisher<Object> {
+    private final SubscriberRegistry subscribers = new SubscriberRegistry();
+    private final TopicRegistry topics = new TopicRegistry();
+    private volatile EventBatcher batcher;
+    private volatile EventHistory history;
 
     public void subscribe(Subscriber subscriber) {
         subscribers.add(subscriber);
     }
 
+    /**
+     * subscribe in async mode, the subscriber is called on the executor through a bounded queue.
+     * Null events are delivered like any other. A subscriber that throws is unsubscribed and its exception
+     * is rethrown on the executor, which reports it the way it reports any failed task.
+     *
+     * @return the handle to pass to {@link #unsubscribe(Subscriber)}.
+     */
+    public AsyncSubscriber subscribeAsync(Subscriber subscriber, Executor executor, int capacity, OverflowPolicy policy) {
+        AsyncSubscriber[] handle = new AsyncSubscriber[1];
+        handle[0] = AsyncSubscriber.of(subscriber, executor, capacity, policy, () -> unsubscribe(handle[0]));
+        subscribe(handle[0]);
+        return handle[0];
+    }
+
+    /**
+     * {@link Flow} interop, events are buffered with {@link Flow#defaultBufferSize()} and delivered on the common pool.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Object> subscriber) {
+        subscribe(subscriber, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), OverflowPolicy.BLOCK);
+    }
+
+    public AsyncSubscriber subscribe(Flow.Subscriber<? super Object> subscriber, Executor executor, int capacity,
+                                     OverflowPolicy policy) {
+        AsyncSubscriber[] handle = new AsyncSubscriber[1];
+        handle[0] = new AsyncSubscriber(subscriber, executor, capacity, policy, () -> unsubscribe(handle[0]));
+        subscribe(handle[0]);
+        handle[0].start();
+        return handle[0];
+    }
+
+    /**
+     * subscribe to the events of matching topics only, see {@link TopicRegistry} for the pattern syntax.
+     */
+    public void subscribe(String topic, Subscriber subscriber) {
+        topics.add(topic, subscriber);
+    }
+
+    /**
+     * keep the last capacity events so that late subscribers can catch up, memory use is fixed by capacity.
+     */
+    public void enableHistory(int capacity) {
+        history = new EventHistory(capacity);
+    }
+
+    /**
+     * subscribe and replay the last n retained events.
+     * The subscriber is added before the replay, so an event published meanwhile may be received twice
+     * and the live and replayed events may arrive on different threads.
+     */
+    public void subscribeWithReplay(Subscriber subscriber, int lastEvents) {
+        subscribe(subscriber);
+        EventHistory current = history;
+        if (current != null) {
+            current.replayLast(lastEvents, subscriber);
+        }
+    }
+
+    /**
+     * subscribe and replay the retained events from sequence on, see {@link #subscribeWithReplay(Subscriber, int)}.
+     */
+    public void subscribeSince(Subscriber subscriber, long sequence) {
+        subscribe(subscriber);
+        EventHistory current = history;
+        if (current != null) {
+            current.replaySince(sequence, subscriber);
+        }
+    }
+
+    /**
+     * @return the sequence the next published event will get, -1 without history.
+     */
+    public long nextSequence() {
+        EventHistory current = history;
+        return current == null ? -1 : current.nextSequence();
+    }
+
     public void unsubscribe(Subscriber subscriber) {
         subscribers.remove(subscriber);
     }
 
+    public void unsubscribe(String topic, Subscriber subscriber) {
+        topics.remove(topic, subscriber);
+    }
+
+    /**
+     * gather events into windows of maxEvents events or window time, whichever closes first.
+     * {@link BatchSubscriber}s get one call per window, other subscribers still get one call per event.
+     * Topic subscribers are not batched.
+     *
+     * @param keyOf events with the same key are collapsed to the latest one, null to keep all events.
+     */
+    public void enableBatching(int maxEvents, long window, TimeUnit unit, ScheduledExecutorService scheduler,
+                               Function<Object, ?> keyOf) {
+        disableBatching();
+        batcher = new EventBatcher(maxEvents, window, unit, scheduler, keyOf, this::notifyBatch);
+    }
+
+    public void disableBatching() {
+        EventBatcher current = batcher;
+        batcher = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * deliver the pending window at once, if batching is enabled.
+     */
+    public void flush() {
+        EventBatcher current = batcher;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /**
+     * lock free, safe to call while other threads subscribe or unsubscribe.
+     */
     public void notifySubscribers(Object context) {
-        for (Subscriber subscriber : subscribers) {
-            subscriber.update(context);
+        EventHistory retained = history;
+        if (retained != null) {
+            retained.record(context);
+        }
+        EventBatcher current = batcher;
+        // A batcher closed by a concurrent disableBatching() refuses the event, it is delivered directly then.
+        if (current != null && current.add(context)) {
+            return;
+        }
+        for (Subscriber[] chunk : subscribers.snapshot()) {
+            for (Subscriber subscriber : chunk) {
+                subscriber.update(context);
+            }
+        }
+    }
+
+    private void notifyBatch(List<Object> contexts) {
+        for (Subscriber[] chunk : subscribers.snapshot()) {
+            for (Subscriber subscriber : chunk) {
+                if (subscriber instanceof BatchSubscriber) {
+                    ((BatchSubscriber) subscriber).updateBatch(contexts);
+                } else {
+                    for (Object context : contexts) {
+                        subscriber.update(context);
+                    }
+                }
+            }
         }
     }
+
+    /**
+     * notify the subscribers of matching topics and the subscribers of all events.
+     */
+    public void notifySubscribers(String topic, Object context) {
+        topics.route(topic, context);
+        notifySubscribers(context);
+    }
 }
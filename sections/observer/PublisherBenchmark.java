@@ -0,0 +1,72 @@
+package observer;
+
+import java.util.ArrayList;
+
+/**
+ * Compares publish throughput of {@link Publisher} with the original ArrayList based publisher.
+ *
+ * @author agent 2026-10-18 10:00
+ */
+public class PublisherBenchmark {
+    private static final long UPDATES_PER_ROUND = 20_000_000L;
+
+    public static void main(String[] args) {
+        for (int count : new int[]{10, 1_000, 100_000}) {
+            CountingSubscriber[] subscribers = new CountingSubscriber[count];
+            ArrayListPublisher arrayListPublisher = new ArrayListPublisher();
+            AppStore appStore = new AppStore();
+            for (int i = 0; i < count; i++) {
+                subscribers[i] = new CountingSubscriber();
+                arrayListPublisher.subscribe(subscribers[i]);
+                appStore.subscribe(subscribers[i]);
+            }
+            long publishes = Math.max(1, UPDATES_PER_ROUND / count);
+            for (int warmup = 0; warmup < 3; warmup++) {
+                measure(arrayListPublisher::notifySubscribers, publishes);
+                measure(appStore::notifySubscribers, publishes);
+            }
+            System.out.printf("%,8d subscribers  ArrayList: %,14.0f publish/s  SubscriberRegistry: %,14.0f publish/s%n",
+                    count,
+                    measure(arrayListPublisher::notifySubscribers, publishes),
+                    measure(appStore::notifySubscribers, publishes));
+        }
+    }
+
+    private static double measure(Notifier notifier, long publishes) {
+        long start = System.nanoTime();
+        for (long i = 0; i < publishes; i++) {
+            notifier.notifySubscribers("event");
+        }
+        return publishes * 1e9 / (System.nanoTime() - start);
+    }
+
+    private interface Notifier {
+        void notifySubscribers(Object context);
+    }
+
+    private static class CountingSubscriber implements Subscriber {
+        private long received;
+
+        @Override
+        public void update(Object context) {
+            received++;
+        }
+    }
+
+    /**
+     * The publisher as it was before {@link SubscriberRegistry}.
+     */
+    private static class ArrayListPublisher {
+        private final ArrayList<Subscriber> subscribers = new ArrayList<>();
+
+        public void subscribe(Subscriber subscriber) {
+            subscribers.add(subscriber);
+        }
+
+        public void notifySubscribers(Object context) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.update(context);
+            }
+        }
+    }
+}
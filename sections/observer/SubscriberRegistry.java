@@ -0,0 +1,107 @@
+package observer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write registry of subscribers.
+ * Readers walk an immutable snapshot without taking any lock, writers publish a new snapshot with CAS.
+ * Subscribers are kept in chunks of at most {@link #CHUNK_SIZE}, so a change copies one chunk
+ * and the chunk index instead of the whole array.
+ *
+ * @author agent 2026-10-18 10:00
+ */
+public class SubscriberRegistry {
+    private static final int CHUNK_SIZE = 64;
+    private static final Subscriber[][] EMPTY = new Subscriber[0][];
+
+    private final AtomicReference<Subscriber[][]> chunks = new AtomicReference<>(EMPTY);
+
+    public void add(Subscriber subscriber) {
+        while (true) {
+            Subscriber[][] current = chunks.get();
+            Subscriber[][] next;
+            int last = current.length - 1;
+            if (last >= 0 && current[last].length < CHUNK_SIZE) {
+                next = current.clone();
+                next[last] = Arrays.copyOf(current[last], current[last].length + 1);
+                next[last][current[last].length] = subscriber;
+            } else {
+                next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = new Subscriber[]{subscriber};
+            }
+            if (chunks.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public boolean remove(Subscriber subscriber) {
+        while (true) {
+            Subscriber[][] current = chunks.get();
+            int chunkIndex = -1;
+            int index = -1;
+            search:
+            for (int c = 0; c < current.length; c++) {
+                for (int i = 0; i < current[c].length; i++) {
+                    if (current[c][i].equals(subscriber)) {
+                        chunkIndex = c;
+                        index = i;
+                        break search;
+                    }
+                }
+            }
+            if (chunkIndex < 0) {
+                return false;
+            }
+            if (chunks.compareAndSet(current, without(current, chunkIndex, index))) {
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Subscriber[] chunk : chunks.get()) {
+            size += chunk.length;
+        }
+        return size;
+    }
+
+    /**
+     * The returned arrays are shared with the registry and must not be modified.
+     */
+    Subscriber[][] snapshot() {
+        return chunks.get();
+    }
+
+    private static Subscriber[][] without(Subscriber[][] current, int chunkIndex, int index) {
+        Subscriber[] chunk = current[chunkIndex];
+        Subscriber[] shrunk = new Subscriber[chunk.length - 1];
+        System.arraycopy(chunk, 0, shrunk, 0, index);
+        System.arraycopy(chunk, index + 1, shrunk, index, chunk.length - index - 1);
+
+        int following = chunkIndex + 1;
+        if (shrunk.length == 0) {
+            return dropChunk(current, chunkIndex);
+        }
+        // Merge small neighbours so that churn does not leave many tiny chunks behind.
+        if (following < current.length && shrunk.length + current[following].length <= CHUNK_SIZE) {
+            Subscriber[] merged = Arrays.copyOf(shrunk, shrunk.length + current[following].length);
+            System.arraycopy(current[following], 0, merged, shrunk.length, current[following].length);
+            Subscriber[][] next = dropChunk(current, following);
+            next[chunkIndex] = merged;
+            return next;
+        }
+        Subscriber[][] next = current.clone();
+        next[chunkIndex] = shrunk;
+        return next;
+    }
+
+    private static Subscriber[][] dropChunk(Subscriber[][] current, int chunkIndex) {
+        Subscriber[][] next = new Subscriber[current.length - 1][];
+        System.arraycopy(current, 0, next, 0, chunkIndex);
+        System.arraycopy(current, chunkIndex + 1, next, chunkIndex, current.length - chunkIndex - 1);
+        return next;
+    }
+}
@@ -0,0 +1,68 @@
+package observer;
+
+/**
+ * Fan-out cost of a topic publish as the total number of registrations grows.
+ * Every topic has the same number of followers, the filter baseline broadcasts
+ * to everyone and lets {@link Subscriber#update(Object)} drop unrelated events.
+ *
+ * @author agent 2026-10-18 10:02
+ */
+public class TopicBenchmark {
+    private static final int FOLLOWERS_PER_TOPIC = 10;
+    private static final int PUBLISHES = 20_000;
+    private static long received;
+
+    public static void main(String[] args) {
+        for (int total : new int[]{1_000, 10_000, 100_000, 1_000_000}) {
+            int topicCount = total / FOLLOWERS_PER_TOPIC;
+            String[] topicNames = new String[topicCount];
+            AppStore indexed = new AppStore();
+            AppStore filtered = new AppStore();
+            for (int i = 0; i < topicCount; i++) {
+                topicNames[i] = "games/category" + i + "/new";
+            }
+            for (int i = 0; i < total; i++) {
+                String topic = topicNames[i % topicCount];
+                indexed.subscribe(topic, context -> received++);
+                filtered.subscribe(context -> {
+                    if (((Event) context).topic.equals(topic)) {
+                        received++;
+                    }
+                });
+            }
+            for (int warmup = 0; warmup < 3; warmup++) {
+                measureIndexed(indexed, topicNames);
+                measureFiltered(filtered, topicNames);
+            }
+            System.out.printf("%,10d registrations  trie: %10.2f us/publish  broadcast + filter: %10.2f us/publish%n",
+                    total, measureIndexed(indexed, topicNames), measureFiltered(filtered, topicNames));
+        }
+    }
+
+    private static double measureIndexed(AppStore appStore, String[] topicNames) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PUBLISHES; i++) {
+            String topic = topicNames[i % topicNames.length];
+            appStore.notifySubscribers(topic, new Event(topic));
+        }
+        return (System.nanoTime() - start) / 1e3 / PUBLISHES;
+    }
+
+    private static double measureFiltered(AppStore appStore, String[] topicNames) {
+        int publishes = Math.max(10, PUBLISHES / (topicNames.length / 100 + 1));
+        long start = System.nanoTime();
+        for (int i = 0; i < publishes; i++) {
+            String topic = topicNames[i % topicNames.length];
+            appStore.notifySubscribers(new Event(topic));
+        }
+        return (System.nanoTime() - start) / 1e3 / publishes;
+    }
+
+    private static class Event {
+        private final String topic;
+
+        private Event(String topic) {
+            this.topic = topic;
+        }
+    }
+}
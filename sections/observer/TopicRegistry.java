@@ -0,0 +1,99 @@
+package observer;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix trie of topic subscriptions, topics are segments separated by '/', e.g. "games/puzzle/sudoku".
+ * In a subscription "*" matches exactly one segment, a trailing "*" matches everything below,
+ * so "games/puzzle/*" receives "games/puzzle/sudoku" and "games/puzzle/jigsaw/3d".
+ * Routing an event only visits the trie path of its topic and the subscribers that match it, without locking.
+ * Subscribing and unsubscribing are serialized, so removing the last subscriber can prune the nodes left empty.
+ *
+ * @author agent 2026-10-18 10:02
+ */
+public class TopicRegistry {
+    private static final String SEPARATOR = "/";
+    private static final String WILDCARD = "*";
+
+    private final Node root = new Node();
+
+    public synchronized void add(String pattern, Subscriber subscriber) {
+        Node node = root;
+        for (String segment : split(pattern)) {
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.subscribers.add(subscriber);
+    }
+
+    public synchronized boolean remove(String pattern, Subscriber subscriber) {
+        String[] segments = split(pattern);
+        Node[] path = new Node[segments.length + 1];
+        path[0] = root;
+        for (int i = 0; i < segments.length; i++) {
+            path[i + 1] = path[i].children.get(segments[i]);
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+        if (!path[segments.length].subscribers.remove(subscriber)) {
+            return false;
+        }
+        // Prune on the way back up, so churn over distinct topics does not leave empty nodes behind.
+        for (int i = segments.length; i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].children.remove(segments[i - 1], path[i]);
+        }
+        return true;
+    }
+
+    /**
+     * A subscriber registered with several matching patterns is called once per pattern.
+     */
+    public void route(String topic, Object context) {
+        String[] segments = split(topic);
+        if (segments.length == 0) {
+            deliver(root, context);
+        } else {
+            routeChildren(root, segments, 0, context);
+        }
+    }
+
+    private void routeChildren(Node node, String[] segments, int index, Object context) {
+        Node child = node.children.get(segments[index]);
+        if (child != null) {
+            if (index + 1 == segments.length) {
+                deliver(child, context);
+            } else {
+                routeChildren(child, segments, index + 1, context);
+            }
+        }
+        Node wildcard = node.children.get(WILDCARD);
+        if (wildcard != null) {
+            // Subscriptions ending at the wildcard take the rest of the topic, whatever its depth.
+            deliver(wildcard, context);
+            if (index + 1 < segments.length) {
+                routeChildren(wildcard, segments, index + 1, context);
+            }
+        }
+    }
+
+    private static void deliver(Node node, Object context) {
+        for (Subscriber[] chunk : node.subscribers.snapshot()) {
+            for (Subscriber subscriber : chunk) {
+                subscriber.update(context);
+            }
+        }
+    }
+
+    private static String[] split(String topic) {
+        return topic.isEmpty() ? new String[0] : topic.split(SEPARATOR);
+    }
+
+    private static class Node {
+        private final ConcurrentHashMap<String, Node> children = new ConcurrentHashMap<>();
+        private final SubscriberRegistry subscribers = new SubscriberRegistry();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && subscribers.size() == 0;
+        }
+    }
+}
@@ -6,6 +6,16 @@ package prototype;
 public abstract class AbstractShape {
     private int x;
     private int y;
+    /**
+     * the grid indexing this shape and the cell and slot it occupies there, maintained by {@link ShapeGrid}.
+     */
+    ShapeGrid grid;
+    long gridCell;
+    int gridSlot;
+    /**
+     * set while the shape waits in a {@link PrototypeRegistry.Pool}, so it cannot be released twice.
+     */
+    boolean pooled;
 
     public AbstractShape() {
     }
@@ -23,12 +33,65 @@ public abstract class AbstractShape {
     @Override
     public abstract AbstractShape clone();
 
+    /**
+     * overwrite this shape with the state of a shape of the same class, the allocation-free twin of clone().
+     *
+     * @throws IllegalArgumentException if the source is of another class, this shape is then left unchanged.
+     */
+    public void copyFrom(AbstractShape source) {
+        if (source.getClass() != getClass()) {
+            throw new IllegalArgumentException("cannot copy a " + source.getClass().getSimpleName()
+                    + " into a " + getClass().getSimpleName());
+        }
+        this.x = source.x;
+        this.y = source.y;
+        reindex();
+    }
+
     public void setX(int x) {
         this.x = x;
+        reindex();
     }
 
     public void setY(int y) {
         this.y = y;
+        reindex();
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * the bounding box of the shape, a point at (x, y) unless a subclass gives it an extent.
+     */
+    int minX() {
+        return x;
+    }
+
+    int minY() {
+        return y;
+    }
+
+    int maxX() {
+        return x;
+    }
+
+    int maxY() {
+        return y;
+    }
+
+    /**
+     * tell the grid holding this shape, if any, that its position or extent changed.
+     */
+    void reindex() {
+        if (grid != null) {
+            grid.update(this);
+        }
     }
 
 }
@@ -19,8 +19,40 @@ public class Circle extends AbstractShape {
         return new Circle(this);
     }
 
+    @Override
+    public void copyFrom(AbstractShape source) {
+        super.copyFrom(source);
+        this.radius = ((Circle) source).radius;
+        reindex();
+    }
+
     public void setRadius(int radius) {
         this.radius = radius;
+        reindex();
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    @Override
+    int minX() {
+        return getX() - radius;
+    }
+
+    @Override
+    int minY() {
+        return getY() - radius;
+    }
+
+    @Override
+    int maxX() {
+        return getX() + radius;
+    }
+
+    @Override
+    int maxY() {
+        return getY() + radius;
     }
 
     @Override
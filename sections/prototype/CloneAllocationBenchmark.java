@@ -0,0 +1,70 @@
+package prototype;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation rate and GC count of a render loop that clones thousands of shapes per frame,
+ * with plain clone() and with {@link PrototypeRegistry}.
+ *
+ * @author agent 2026-10-18 10:24
+ */
+public class CloneAllocationBenchmark {
+    private static final int FRAMES = 20_000;
+    private static final int SHAPES_PER_FRAME = 5_000;
+
+    public static void main(String[] args) {
+        Circle circle = new Circle();
+        circle.setRadius(20);
+        Rectangle rectangle = new Rectangle();
+        rectangle.setWidth(10);
+        rectangle.setHeight(20);
+        PrototypeRegistry registry = new PrototypeRegistry(SHAPES_PER_FRAME);
+        registry.register("circle", circle);
+        registry.register("rectangle", rectangle);
+        PrototypeRegistry.Pool circles = registry.pool("circle");
+        PrototypeRegistry.Pool rectangles = registry.pool("rectangle");
+        AbstractShape[] frame = new AbstractShape[SHAPES_PER_FRAME];
+
+        for (int round = 0; round < 2; round++) {
+            measure("clone()", () -> {
+                for (int i = 0; i < SHAPES_PER_FRAME; i++) {
+                    frame[i] = (i & 1) == 0 ? circle.clone() : rectangle.clone();
+                    frame[i].setX(i);
+                }
+            });
+            measure("PrototypeRegistry", () -> {
+                for (int i = 0; i < SHAPES_PER_FRAME; i++) {
+                    frame[i] = (i & 1) == 0 ? circles.acquire() : rectangles.acquire();
+                    frame[i].setX(i);
+                }
+                for (int i = 0; i < SHAPES_PER_FRAME; i++) {
+                    ((i & 1) == 0 ? circles : rectangles).release(frame[i]);
+                }
+            });
+        }
+    }
+
+    private static void measure(String name, Runnable renderFrame) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long collectionsBefore = collections();
+        long start = System.nanoTime();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            renderFrame.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-18s %8.1f MB/s allocated, %6.1f bytes/clone, %4d GCs, %.2f s%n", name,
+                allocated / 1e6 / seconds, (double) allocated / FRAMES / SHAPES_PER_FRAME,
+                collections() - collectionsBefore, seconds);
+    }
+
+    private static long collections() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,203 @@
+package prototype;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A shape group stored as columns of primitives, one set of columns per shape type,
+ * instead of a list of shape objects. Bulk operations are tight loops over int arrays,
+ * and groups of at least {@link #PARALLEL_THRESHOLD} shapes split them across the common fork/join pool.
+ *
+ * @author agent 2026-10-18 10:25
+ */
+public class ColumnarShapeGroup {
+    public static final int PARALLEL_THRESHOLD = 1 << 15;
+    private static final int CHUNK = 1 << 13;
+
+    private int circleCount;
+    private int[] circleX;
+    private int[] circleY;
+    private int[] radius;
+
+    private int rectangleCount;
+    private int[] rectangleX;
+    private int[] rectangleY;
+    private int[] width;
+    private int[] height;
+
+    public ColumnarShapeGroup() {
+        this(16, 16);
+    }
+
+    public ColumnarShapeGroup(int circleCapacity, int rectangleCapacity) {
+        circleX = new int[Math.max(1, circleCapacity)];
+        circleY = new int[circleX.length];
+        radius = new int[circleX.length];
+        rectangleX = new int[Math.max(1, rectangleCapacity)];
+        rectangleY = new int[rectangleX.length];
+        width = new int[rectangleX.length];
+        height = new int[rectangleX.length];
+    }
+
+    public static ColumnarShapeGroup of(List<? extends AbstractShape> shapes) {
+        ColumnarShapeGroup group = new ColumnarShapeGroup();
+        for (AbstractShape shape : shapes) {
+            group.add(shape);
+        }
+        return group;
+    }
+
+    public void add(AbstractShape shape) {
+        if (shape instanceof Circle) {
+            Circle circle = (Circle) shape;
+            addCircle(circle.getX(), circle.getY(), circle.getRadius());
+        } else if (shape instanceof Rectangle) {
+            Rectangle rectangle = (Rectangle) shape;
+            addRectangle(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+        } else {
+            throw new IllegalArgumentException("unsupported shape: " + shape.getClass().getName());
+        }
+    }
+
+    public void addCircle(int x, int y, int circleRadius) {
+        if (circleCount == circleX.length) {
+            int capacity = circleCount * 2;
+            circleX = Arrays.copyOf(circleX, capacity);
+            circleY = Arrays.copyOf(circleY, capacity);
+            radius = Arrays.copyOf(radius, capacity);
+        }
+        circleX[circleCount] = x;
+        circleY[circleCount] = y;
+        radius[circleCount] = circleRadius;
+        circleCount++;
+    }
+
+    public void addRectangle(int x, int y, int rectangleWidth, int rectangleHeight) {
+        if (rectangleCount == rectangleX.length) {
+            int capacity = rectangleCount * 2;
+            rectangleX = Arrays.copyOf(rectangleX, capacity);
+            rectangleY = Arrays.copyOf(rectangleY, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+        }
+        rectangleX[rectangleCount] = x;
+        rectangleY[rectangleCount] = y;
+        width[rectangleCount] = rectangleWidth;
+        height[rectangleCount] = rectangleHeight;
+        rectangleCount++;
+    }
+
+    /**
+     * back to the object model, circles first, then rectangles.
+     */
+    public List<AbstractShape> toShapes() {
+        List<AbstractShape> shapes = new ArrayList<>(size());
+        for (int i = 0; i < circleCount; i++) {
+            Circle circle = new Circle();
+            circle.setX(circleX[i]);
+            circle.setY(circleY[i]);
+            circle.setRadius(radius[i]);
+            shapes.add(circle);
+        }
+        for (int i = 0; i < rectangleCount; i++) {
+            Rectangle rectangle = new Rectangle();
+            rectangle.setX(rectangleX[i]);
+            rectangle.setY(rectangleY[i]);
+            rectangle.setWidth(width[i]);
+            rectangle.setHeight(height[i]);
+            shapes.add(rectangle);
+        }
+        return shapes;
+    }
+
+    /**
+     * bulk clone, one array copy per column.
+     */
+    public ColumnarShapeGroup copy() {
+        ColumnarShapeGroup copy = new ColumnarShapeGroup(circleCount, rectangleCount);
+        copy.circleCount = circleCount;
+        System.arraycopy(circleX, 0, copy.circleX, 0, circleCount);
+        System.arraycopy(circleY, 0, copy.circleY, 0, circleCount);
+        System.arraycopy(radius, 0, copy.radius, 0, circleCount);
+        copy.rectangleCount = rectangleCount;
+        System.arraycopy(rectangleX, 0, copy.rectangleX, 0, rectangleCount);
+        System.arraycopy(rectangleY, 0, copy.rectangleY, 0, rectangleCount);
+        System.arraycopy(width, 0, copy.width, 0, rectangleCount);
+        System.arraycopy(height, 0, copy.height, 0, rectangleCount);
+        return copy;
+    }
+
+    public void translate(int dx, int dy) {
+        translate(circleX, circleY, circleCount, dx, dy);
+        translate(rectangleX, rectangleY, rectangleCount, dx, dy);
+    }
+
+    /**
+     * the shapes whose position lies in the region, bounds inclusive.
+     */
+    public ColumnarShapeGroup filterRegion(int minX, int minY, int maxX, int maxY) {
+        boolean[] circleHits = inRegion(circleX, circleY, circleCount, minX, minY, maxX, maxY);
+        boolean[] rectangleHits = inRegion(rectangleX, rectangleY, rectangleCount, minX, minY, maxX, maxY);
+        ColumnarShapeGroup result = new ColumnarShapeGroup();
+        for (int i = 0; i < circleCount; i++) {
+            if (circleHits[i]) {
+                result.addCircle(circleX[i], circleY[i], radius[i]);
+            }
+        }
+        for (int i = 0; i < rectangleCount; i++) {
+            if (rectangleHits[i]) {
+                result.addRectangle(rectangleX[i], rectangleY[i], width[i], height[i]);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return circleCount + rectangleCount;
+    }
+
+    public int getCircleCount() {
+        return circleCount;
+    }
+
+    public int getRectangleCount() {
+        return rectangleCount;
+    }
+
+    private static void translate(int[] xs, int[] ys, int count, int dx, int dy) {
+        if (count < PARALLEL_THRESHOLD) {
+            translateRange(xs, ys, 0, count, dx, dy);
+            return;
+        }
+        IntStream.range(0, (count + CHUNK - 1) / CHUNK).parallel().forEach(chunk ->
+                translateRange(xs, ys, chunk * CHUNK, Math.min(count, (chunk + 1) * CHUNK), dx, dy));
+    }
+
+    private static void translateRange(int[] xs, int[] ys, int from, int to, int dx, int dy) {
+        for (int i = from; i < to; i++) {
+            xs[i] += dx;
+            ys[i] += dy;
+        }
+    }
+
+    private static boolean[] inRegion(int[] xs, int[] ys, int count, int minX, int minY, int maxX, int maxY) {
+        boolean[] hits = new boolean[count];
+        if (count < PARALLEL_THRESHOLD) {
+            inRegionRange(xs, ys, hits, 0, count, minX, minY, maxX, maxY);
+        } else {
+            IntStream.range(0, (count + CHUNK - 1) / CHUNK).parallel().forEach(chunk ->
+                    inRegionRange(xs, ys, hits, chunk * CHUNK, Math.min(count, (chunk + 1) * CHUNK),
+                            minX, minY, maxX, maxY));
+        }
+        return hits;
+    }
+
+    private static void inRegionRange(int[] xs, int[] ys, boolean[] hits, int from, int to,
+                                      int minX, int minY, int maxX, int maxY) {
+        for (int i = from; i < to; i++) {
+            hits[i] = xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package prototype;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prototypes registered by name, handing out clones from a per-thread pool of released shapes.
+ * A pooled shape is reset with {@link AbstractShape#copyFrom(AbstractShape)}, so once the pools are warm
+ * acquiring and releasing clones allocates nothing. Release a clone on the thread that acquired it
+ * and do not use it afterwards. Registering a name again takes effect for the next acquire on every thread.
+ *
+ * @author agent 2026-10-18 10:24
+ */
+public class PrototypeRegistry {
+    private final Map<String, Slot> prototypes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<String, Pool>> pools = ThreadLocal.withInitial(HashMap::new);
+    private final int maxPooledPerName;
+
+    /**
+     * @param maxPooledPerName released shapes beyond this count per name and thread are left to the GC.
+     */
+    public PrototypeRegistry(int maxPooledPerName) {
+        if (maxPooledPerName < 0) {
+            throw new IllegalArgumentException("maxPooledPerName must not be negative: " + maxPooledPerName);
+        }
+        this.maxPooledPerName = maxPooledPerName;
+    }
+
+    public void register(String name, AbstractShape prototype) {
+        Objects.requireNonNull(prototype);
+        prototypes.computeIfAbsent(name, key -> new Slot()).prototype = prototype;
+    }
+
+    public AbstractShape acquire(String name) {
+        return pool(name).acquire();
+    }
+
+    public void release(String name, AbstractShape shape) {
+        pool(name).release(shape);
+    }
+
+    /**
+     * the pool of the calling thread for a prototype, keep it in hot loops to skip the lookups.
+     */
+    public Pool pool(String name) {
+        Pool pool = pools.get().get(name);
+        if (pool == null) {
+            Slot slot = prototypes.get(name);
+            if (slot == null) {
+                throw new IllegalArgumentException("no prototype named " + name);
+            }
+            pool = new Pool(slot, maxPooledPerName);
+            pools.get().put(name, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Released clones of one prototype, confined to one thread.
+     */
+    public static final class Pool {
+        private final Slot slot;
+        private final AbstractShape[] shapes;
+        private int size;
+
+        private Pool(Slot slot, int capacity) {
+            this.slot = slot;
+            this.shapes = new AbstractShape[capacity];
+        }
+
+        public AbstractShape acquire() {
+            AbstractShape prototype = slot.prototype;
+            while (size > 0) {
+                AbstractShape shape = shapes[--size];
+                shapes[size] = null;
+                shape.pooled = false;
+                // Clones of a prototype that has since been replaced by another class are dropped.
+                if (shape.getClass() == prototype.getClass()) {
+                    shape.copyFrom(prototype);
+                    return shape;
+                }
+            }
+            return prototype.clone();
+        }
+
+        /**
+         * @throws IllegalArgumentException if the shape is not of the prototype's class.
+         * @throws IllegalStateException if the shape has already been released and not acquired since.
+         */
+        public void release(AbstractShape shape) {
+            if (shape.pooled) {
+                throw new IllegalStateException("shape is already released: " + shape);
+            }
+            Class<?> expected = slot.prototype.getClass();
+            if (shape.getClass() != expected) {
+                throw new IllegalArgumentException("cannot pool a " + shape.getClass().getSimpleName()
+                        + " with clones of a " + expected.getSimpleName());
+            }
+            if (size < shapes.length) {
+                shape.pooled = true;
+                shapes[size++] = shape;
+            }
+        }
+    }
+
+    /**
+     * the current prototype of a name, shared by the pools of every thread.
+     */
+    private static final class Slot {
+        private volatile AbstractShape prototype;
+    }
+}
@@ -21,12 +21,41 @@ public class Rectangle extends AbstractShape {
         return new Rectangle(this);
     }
 
+    @Override
+    public void copyFrom(AbstractShape source) {
+        super.copyFrom(source);
+        Rectangle rectangle = (Rectangle) source;
+        this.width = rectangle.width;
+        this.height = rectangle.height;
+        reindex();
+    }
+
     public void setWidth(int width) {
         this.width = width;
+        reindex();
     }
 
     public void setHeight(int height) {
         this.height = height;
+        reindex();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    int maxX() {
+        return getX() + width;
+    }
+
+    @Override
+    int maxY() {
+        return getY() + height;
     }
 
     @Override
@@ -0,0 +1,260 @@
+package prototype;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A uniform grid over shape positions answering region and nearest-neighbour queries by visiting
+ * only the cells around the target instead of every shape. A shape is filed under the cell of its (x, y);
+ * queries widen their search by the largest distance any shape extends past its position, so shapes
+ * much larger than a cell make them slower. Setters on an indexed shape move it between cells as they run.
+ * A shape belongs to at most one grid. Not thread-safe.
+ *
+ * @author agent 2026-10-18 10:27
+ */
+public class ShapeGrid {
+    private final int cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private int size;
+    /**
+     * the furthest any indexed shape has reached past its position, it only grows.
+     */
+    private long reach;
+    private long minCellX = Long.MAX_VALUE;
+    private long minCellY = Long.MAX_VALUE;
+    private long maxCellX = Long.MIN_VALUE;
+    private long maxCellY = Long.MIN_VALUE;
+
+    /**
+     * @param cellSize side of a cell, around the typical query width or the typical shape spacing works well.
+     */
+    public ShapeGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    public static ShapeGrid of(List<? extends AbstractShape> shapes, int cellSize) {
+        ShapeGrid grid = new ShapeGrid(cellSize);
+        for (AbstractShape shape : shapes) {
+            grid.add(shape);
+        }
+        return grid;
+    }
+
+    public void add(AbstractShape shape) {
+        if (shape.grid != null) {
+            throw new IllegalStateException("shape is already indexed: " + shape);
+        }
+        shape.grid = this;
+        insert(shape, cellOf(shape.getX(), shape.getY()));
+        widen(shape);
+        size++;
+    }
+
+    public boolean remove(AbstractShape shape) {
+        if (shape.grid != this) {
+            return false;
+        }
+        delete(shape);
+        shape.grid = null;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * the shapes whose bounding box intersects the region, bounds inclusive.
+     */
+    public List<AbstractShape> query(int minX, int minY, int maxX, int maxY) {
+        List<AbstractShape> result = new ArrayList<>();
+        forEachIn(minX, minY, maxX, maxY, result::add);
+        return result;
+    }
+
+    public void forEachIn(int minX, int minY, int maxX, int maxY, Consumer<? super AbstractShape> action) {
+        long fromX = Math.floorDiv(minX - reach, cellSize);
+        long fromY = Math.floorDiv(minY - reach, cellSize);
+        long toX = Math.floorDiv(maxX + reach, cellSize);
+        long toY = Math.floorDiv(maxY + reach, cellSize);
+        if ((toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+            for (Cell cell : cells.values()) {
+                cell.forEachIn(minX, minY, maxX, maxY, action);
+            }
+            return;
+        }
+        for (long cx = fromX; cx <= toX; cx++) {
+            for (long cy = fromY; cy <= toY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell != null) {
+                    cell.forEachIn(minX, minY, maxX, maxY, action);
+                }
+            }
+        }
+    }
+
+    /**
+     * the shape whose bounding box is closest to the point, null if the grid is empty.
+     */
+    public AbstractShape nearest(int x, int y) {
+        if (size == 0) {
+            return null;
+        }
+        long px = Math.floorDiv(x, cellSize);
+        long py = Math.floorDiv(y, cellSize);
+        long lastRing = Math.max(Math.max(px - minCellX, maxCellX - px), Math.max(py - minCellY, maxCellY - py));
+        Nearest nearest = new Nearest(x, y);
+        for (long r = 0; r <= lastRing; r++) {
+            long bound = (r - 1) * cellSize - reach;
+            if (nearest.shape != null && bound > 0 && bound * bound > nearest.distance) {
+                break;
+            }
+            if (8 * r > cells.size()) {
+                for (Cell cell : cells.values()) {
+                    cell.closest(nearest);
+                }
+                break;
+            }
+            ring(px, py, r, nearest);
+        }
+        return nearest.shape;
+    }
+
+    /**
+     * called by an indexed shape after its position or extent changed.
+     */
+    void update(AbstractShape shape) {
+        long cell = cellOf(shape.getX(), shape.getY());
+        if (cell != shape.gridCell) {
+            delete(shape);
+            insert(shape, cell);
+        }
+        widen(shape);
+    }
+
+    private void ring(long px, long py, long r, Nearest nearest) {
+        if (r == 0) {
+            visit(px, py, nearest);
+            return;
+        }
+        for (long cx = Math.max(px - r, minCellX); cx <= Math.min(px + r, maxCellX); cx++) {
+            visit(cx, py - r, nearest);
+            visit(cx, py + r, nearest);
+        }
+        for (long cy = Math.max(py - r + 1, minCellY); cy <= Math.min(py + r - 1, maxCellY); cy++) {
+            visit(px - r, cy, nearest);
+            visit(px + r, cy, nearest);
+        }
+    }
+
+    private void visit(long cx, long cy, Nearest nearest) {
+        if (cx < minCellX || cx > maxCellX || cy < minCellY || cy > maxCellY) {
+            return;
+        }
+        Cell cell = cells.get(key(cx, cy));
+        if (cell != null) {
+            cell.closest(nearest);
+        }
+    }
+
+    private void insert(AbstractShape shape, long key) {
+        Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+        shape.gridCell = key;
+        shape.gridSlot = cell.size;
+        cell.add(shape);
+        long cx = key >> 32;
+        long cy = (int) key;
+        minCellX = Math.min(minCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        maxCellX = Math.max(maxCellX, cx);
+        maxCellY = Math.max(maxCellY, cy);
+    }
+
+    private void delete(AbstractShape shape) {
+        Cell cell = cells.get(shape.gridCell);
+        cell.removeAt(shape.gridSlot);
+        if (cell.size == 0) {
+            cells.remove(shape.gridCell);
+        }
+    }
+
+    private void widen(AbstractShape shape) {
+        long x = shape.getX();
+        long y = shape.getY();
+        long extent = Math.max(Math.max(x - shape.minX(), shape.maxX() - x), Math.max(y - shape.minY(), shape.maxY() - y));
+        reach = Math.max(reach, extent);
+    }
+
+    private long cellOf(int x, int y) {
+        return key(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+    }
+
+    private static long key(long cx, long cy) {
+        return (cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        private AbstractShape[] shapes = new AbstractShape[4];
+        private int size;
+
+        void add(AbstractShape shape) {
+            if (size == shapes.length) {
+                AbstractShape[] grown = new AbstractShape[size * 2];
+                System.arraycopy(shapes, 0, grown, 0, size);
+                shapes = grown;
+            }
+            shapes[size++] = shape;
+        }
+
+        void removeAt(int slot) {
+            AbstractShape last = shapes[--size];
+            shapes[slot] = last;
+            last.gridSlot = slot;
+            shapes[size] = null;
+        }
+
+        void forEachIn(int minX, int minY, int maxX, int maxY, Consumer<? super AbstractShape> action) {
+            for (int i = 0; i < size; i++) {
+                AbstractShape shape = shapes[i];
+                if (shape.maxX() >= minX && shape.minX() <= maxX && shape.maxY() >= minY && shape.minY() <= maxY) {
+                    action.accept(shape);
+                }
+            }
+        }
+
+        void closest(Nearest nearest) {
+            for (int i = 0; i < size; i++) {
+                nearest.offer(shapes[i]);
+            }
+        }
+    }
+
+    private static final class Nearest {
+        private final long x;
+        private final long y;
+        private AbstractShape shape;
+        private long distance = Long.MAX_VALUE;
+
+        Nearest(long x, long y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void offer(AbstractShape candidate) {
+            long dx = Math.max(0, Math.max(candidate.minX() - x, x - candidate.maxX()));
+            long dy = Math.max(0, Math.max(candidate.minY() - y, y - candidate.maxY()));
+            long squared = dx * dx + dy * dy;
+            if (squared < distance) {
+                distance = squared;
+                shape = candidate;
+            }
+        }
+    }
+}
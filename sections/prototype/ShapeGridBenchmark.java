@@ -0,0 +1,114 @@
+package prototype;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Region and nearest-neighbour query latency over a million shapes, a linear scan against {@link ShapeGrid},
+ * with every grid answer checked against the scan and a batch of moves between the query rounds.
+ *
+ * @author agent 2026-10-18 10:27
+ */
+public class ShapeGridBenchmark {
+    private static final int SHAPES = 1_000_000;
+    private static final int WORLD = 100_000;
+    private static final int REGION = 500;
+    private static final int QUERIES = 200;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        List<AbstractShape> shapes = new ArrayList<>(SHAPES);
+        for (int i = 0; i < SHAPES; i++) {
+            AbstractShape shape;
+            if ((i & 1) == 0) {
+                Circle circle = new Circle();
+                circle.setRadius(1 + random.nextInt(20));
+                shape = circle;
+            } else {
+                Rectangle rectangle = new Rectangle();
+                rectangle.setWidth(1 + random.nextInt(40));
+                rectangle.setHeight(1 + random.nextInt(40));
+                shape = rectangle;
+            }
+            shape.setX(random.nextInt(WORLD));
+            shape.setY(random.nextInt(WORLD));
+            shapes.add(shape);
+        }
+        long start = System.nanoTime();
+        ShapeGrid grid = ShapeGrid.of(shapes, REGION);
+        System.out.printf("built grid of %d shapes in %d ms%n", grid.size(), (System.nanoTime() - start) / 1_000_000);
+
+        for (int round = 0; round < 3; round++) {
+            long scanNanos = 0;
+            long gridNanos = 0;
+            long nearestScanNanos = 0;
+            long nearestGridNanos = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                int minX = random.nextInt(WORLD - REGION);
+                int minY = random.nextInt(WORLD - REGION);
+                start = System.nanoTime();
+                int scanned = scan(shapes, minX, minY, minX + REGION, minY + REGION);
+                scanNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                int found = grid.query(minX, minY, minX + REGION, minY + REGION).size();
+                gridNanos += System.nanoTime() - start;
+                check(scanned == found, "region query found " + found + ", scan found " + scanned);
+
+                start = System.nanoTime();
+                long scanDistance = distance(scanNearest(shapes, minX, minY), minX, minY);
+                nearestScanNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                long gridDistance = distance(grid.nearest(minX, minY), minX, minY);
+                nearestGridNanos += System.nanoTime() - start;
+                check(scanDistance == gridDistance, "nearest at " + gridDistance + ", scan nearest at " + scanDistance);
+            }
+            System.out.printf("region  scan %8.1f us  grid %6.1f us%n", scanNanos / 1e3 / QUERIES, gridNanos / 1e3 / QUERIES);
+            System.out.printf("nearest scan %8.1f us  grid %6.1f us%n",
+                    nearestScanNanos / 1e3 / QUERIES, nearestGridNanos / 1e3 / QUERIES);
+
+            start = System.nanoTime();
+            for (int i = 0; i < SHAPES / 10; i++) {
+                AbstractShape shape = shapes.get(random.nextInt(SHAPES));
+                shape.setX(random.nextInt(WORLD));
+                shape.setY(random.nextInt(WORLD));
+            }
+            System.out.printf("moved %d shapes in %d ms%n", SHAPES / 10, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static int scan(List<AbstractShape> shapes, int minX, int minY, int maxX, int maxY) {
+        int found = 0;
+        for (AbstractShape shape : shapes) {
+            if (shape.maxX() >= minX && shape.minX() <= maxX && shape.maxY() >= minY && shape.minY() <= maxY) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static AbstractShape scanNearest(List<AbstractShape> shapes, int x, int y) {
+        AbstractShape nearest = null;
+        long best = Long.MAX_VALUE;
+        for (AbstractShape shape : shapes) {
+            long distance = distance(shape, x, y);
+            if (distance < best) {
+                best = distance;
+                nearest = shape;
+            }
+        }
+        return nearest;
+    }
+
+    private static long distance(AbstractShape shape, long x, long y) {
+        long dx = Math.max(0, Math.max(shape.minX() - x, x - shape.maxX()));
+        long dy = Math.max(0, Math.max(shape.minY() - y, y - shape.maxY()));
+        return dx * dx + dy * dy;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package singleton;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One instance per key, e.g. per tenant, created lazily and exactly once.
+ * The first caller of a key installs an empty {@link Instance} with a CAS and runs the factory
+ * without holding any lock; callers of the same key park until it is done, callers of other keys never wait.
+ * A factory asking for its own key gets an {@link IllegalStateException} instead of waiting for itself.
+ * Keep the {@link Instance} of a key to read it with a single volatile read afterwards.
+ *
+ * @author agent 2026-10-18 10:22
+ */
+public class Multiton<K, V> {
+    private final ConcurrentHashMap<K, Instance<V>> instances = new ConcurrentHashMap<>();
+    private final Function<? super K, ? extends V> factory;
+
+    public Multiton(Function<? super K, ? extends V> factory) {
+        this.factory = factory;
+    }
+
+    public V getInstance(K key) {
+        return instance(key).get();
+    }
+
+    /**
+     * the handle of a key, its get() is as cheap as reading a volatile field once the instance exists.
+     */
+    public Instance<V> instance(K key) {
+        while (true) {
+            Instance<V> instance = instances.get(key);
+            if (instance == null) {
+                Instance<V> created = new Instance<>();
+                instance = instances.putIfAbsent(key, created);
+                if (instance == null) {
+                    create(key, created);
+                    return created;
+                }
+            }
+            if (instance.await()) {
+                return instance;
+            }
+            // The factory failed for the previous caller, its instance has been removed, try again.
+        }
+    }
+
+    public boolean contains(K key) {
+        Instance<V> instance = instances.get(key);
+        return instance != null && instance.value != null;
+    }
+
+    public int size() {
+        return instances.size();
+    }
+
+    private void create(K key, Instance<V> instance) {
+        instance.creator = Thread.currentThread();
+        try {
+            V value = Objects.requireNonNull(factory.apply(key), "factory returned null");
+            instance.value = value;
+            instance.created.complete(value);
+        } catch (RuntimeException | Error e) {
+            instances.remove(key, instance);
+            instance.created.completeExceptionally(e);
+            throw e;
+        } finally {
+            instance.creator = null;
+        }
+    }
+
+    public static final class Instance<V> implements Supplier<V> {
+        private final CompletableFuture<V> created = new CompletableFuture<>();
+        private volatile V value;
+        private volatile Thread creator;
+
+        private Instance() {
+        }
+
+        @Override
+        public V get() {
+            V current = value;
+            if (current != null) {
+                return current;
+            }
+            if (!await()) {
+                throw new IllegalStateException("instance creation failed");
+            }
+            return value;
+        }
+
+        /**
+         * park until the instance is created.
+         *
+         * @return false if the creation failed.
+         */
+        private boolean await() {
+            if (value != null) {
+                return true;
+            }
+            if (creator == Thread.currentThread()) {
+                throw new IllegalStateException("the factory asked for the instance it is creating");
+            }
+            try {
+                created.join();
+                return true;
+            } catch (CompletionException e) {
+                return false;
+            }
+        }
+    }
+}
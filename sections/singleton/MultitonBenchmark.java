@@ -0,0 +1,84 @@
+package singleton;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read cost of {@link Singleton} with double-checked locking and of {@link Multiton},
+ * then creation of many keys from several threads against a keyed registry behind one class-wide monitor.
+ *
+ * @author agent 2026-10-18 10:22
+ */
+public class MultitonBenchmark {
+    private static final int READS = 100_000_000;
+    private static final int KEYS = 200_000;
+    private static final int THREADS = 4;
+    private static Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        Multiton<String, Service> multiton = new Multiton<>(Service::new);
+        Multiton.Instance<Service> handle = multiton.instance("tenant-1");
+        for (int round = 0; round < 3; round++) {
+            double dcl = measureReads(() -> Singleton.getInstance("instance No.1"));
+            double lookup = measureReads(() -> multiton.getInstance("tenant-1"));
+            double handleRead = measureReads(handle::get);
+            System.out.printf("reads  DCL: %.2f ns  Multiton.getInstance: %.2f ns  Instance.get: %.2f ns%n",
+                    dcl, lookup, handleRead);
+        }
+
+        Map<String, Service> locked = new HashMap<>();
+        for (int round = 0; round < 3; round++) {
+            Multiton<String, Service> fresh = new Multiton<>(Service::new);
+            double lockFree = measureCreation(fresh::getInstance);
+            locked.clear();
+            double monitor = measureCreation(key -> {
+                synchronized (MultitonBenchmark.class) {
+                    return locked.computeIfAbsent(key, Service::new);
+                }
+            });
+            System.out.printf("create %,d keys on %d threads  Multiton: %.1f ms  class-wide monitor: %.1f ms%n",
+                    KEYS, THREADS, lockFree, monitor);
+        }
+    }
+
+    private static double measureReads(Supplier<?> read) {
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            sink = read.get();
+        }
+        return (double) (System.nanoTime() - start) / READS;
+    }
+
+    private static double measureCreation(Function<String, ?> create)
+            throws InterruptedException {
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "tenant-" + i;
+        }
+        Thread[] threads = new Thread[THREADS];
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < KEYS; i++) {
+                    sink = create.apply(keys[(i + offset * KEYS / THREADS) % KEYS]);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static class Service {
+        private final String tenant;
+
+        Service(String tenant) {
+            this.tenant = tenant;
+        }
+    }
+}
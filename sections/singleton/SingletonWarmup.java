@@ -0,0 +1,116 @@
+package singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Initializes expensive singletons eagerly at startup instead of on the first request.
+ * Every singleton declares the singletons it depends on; it is initialized as soon as they are,
+ * so independent branches of the dependency graph are initialized in parallel.
+ * A dependency cycle or an unknown dependency is reported before anything is initialized.
+ *
+ * @author agent 2026-10-18 10:22
+ */
+public class SingletonWarmup {
+    private final Map<String, Runnable> initializers = new LinkedHashMap<>();
+    private final Map<String, List<String>> dependencies = new HashMap<>();
+
+    /**
+     * @param initializer e.g. {@code () -> Singleton.getInstance("value")}.
+     */
+    public SingletonWarmup register(String name, Runnable initializer, String... dependsOn) {
+        if (initializers.putIfAbsent(name, initializer) != null) {
+            throw new IllegalArgumentException("singleton registered twice: " + name);
+        }
+        dependencies.put(name, List.of(dependsOn));
+        return this;
+    }
+
+    /**
+     * initialize every registered singleton and wait until all are ready.
+     *
+     * @throws IllegalStateException if the dependencies form a cycle.
+     * @throws CompletionException   with the first failure of an initializer, its dependents are not initialized.
+     */
+    public WarmupReport warmUp(Executor executor) {
+        checkDependencies();
+        Map<String, Long> initNanos = Collections.synchronizedMap(new LinkedHashMap<>());
+        Map<String, CompletableFuture<Void>> futures = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        for (String name : initializers.keySet()) {
+            schedule(name, executor, futures, initNanos);
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]));
+        // Fail fast: complete as soon as one initializer fails instead of waiting for the others.
+        for (CompletableFuture<Void> future : futures.values()) {
+            future.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    all.completeExceptionally(throwable);
+                }
+            });
+        }
+        all.join();
+        return new WarmupReport(System.nanoTime() - start, initNanos);
+    }
+
+    private CompletableFuture<Void> schedule(String name, Executor executor, Map<String, CompletableFuture<Void>> futures,
+                                             Map<String, Long> initNanos) {
+        CompletableFuture<Void> existing = futures.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        List<String> dependsOn = dependencies.get(name);
+        CompletableFuture<?>[] ready = new CompletableFuture<?>[dependsOn.size()];
+        for (int i = 0; i < ready.length; i++) {
+            ready[i] = schedule(dependsOn.get(i), executor, futures, initNanos);
+        }
+        Runnable initializer = initializers.get(name);
+        CompletableFuture<Void> future = CompletableFuture.allOf(ready).thenRunAsync(() -> {
+            long start = System.nanoTime();
+            initializer.run();
+            initNanos.put(name, System.nanoTime() - start);
+        }, executor);
+        futures.put(name, future);
+        return future;
+    }
+
+    /**
+     * depth-first search, a dependency on a singleton that is still on the path is a cycle.
+     */
+    private void checkDependencies() {
+        Map<String, Boolean> finished = new HashMap<>();
+        for (String name : initializers.keySet()) {
+            visit(name, finished, new ArrayList<>());
+        }
+    }
+
+    private void visit(String name, Map<String, Boolean> finished, List<String> path) {
+        Boolean state = finished.get(name);
+        if (Boolean.TRUE.equals(state)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(state)) {
+            List<String> cycle = new ArrayList<>(path.subList(path.indexOf(name), path.size()));
+            cycle.add(name);
+            throw new IllegalStateException("dependency cycle: " + String.join(" -> ", cycle));
+        }
+        finished.put(name, false);
+        path.add(name);
+        for (String dependency : dependencies.get(name)) {
+            if (!initializers.containsKey(dependency)) {
+                throw new IllegalArgumentException(name + " depends on unknown singleton " + dependency);
+            }
+            visit(dependency, finished, path);
+        }
+        path.remove(path.size() - 1);
+        finished.put(name, true);
+    }
+}
@@ -0,0 +1,48 @@
+package singleton;
+
+import java.util.Map;
+
+/**
+ * What {@link SingletonWarmup} spent, per singleton in order of completion and in total.
+ *
+ * @author agent 2026-10-18 10:22
+ */
+public class WarmupReport {
+    private final long timeToReadyNanos;
+    private final Map<String, Long> initNanos;
+
+    public WarmupReport(long timeToReadyNanos, Map<String, Long> initNanos) {
+        this.timeToReadyNanos = timeToReadyNanos;
+        this.initNanos = initNanos;
+    }
+
+    public long getTimeToReadyNanos() {
+        return timeToReadyNanos;
+    }
+
+    public Map<String, Long> getInitNanos() {
+        return initNanos;
+    }
+
+    /**
+     * what a sequential warm-up would have taken.
+     */
+    public long getTotalInitNanos() {
+        long total = 0;
+        for (long nanos : initNanos.values()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        synchronized (initNanos) {
+            initNanos.forEach((name, nanos) ->
+                    builder.append(String.format("%-20s %8.2f ms%n", name, nanos / 1e6)));
+        }
+        return builder.append(String.format("%-20s %8.2f ms (sequential %.2f ms)",
+                "ready after", timeToReadyNanos / 1e6, getTotalInitNanos() / 1e6)).toString();
+    }
+}